@@ -0,0 +1,106 @@
+package benchmarks;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import datastructures.linkedlist.CircularLinkedList;
+import datastructures.linkedlist.ListNode;
+
+/**
+ * Benchmarks the circular linked list. Insertions are paired with the matching
+ * deletion so the list keeps its size across invocations. The list has no insert or
+ * delete by index; the positional case is covered by cutting the list at its middle node
+ * and joining it again. The print benchmark writes to a discarding stream.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CircularLinkedListBenchmark
+{
+    @Param({ "16", "1024", "65536" })
+    public int size;
+
+    private CircularLinkedList list;
+    /** Node at position size / 2 - 1 */
+    private ListNode middle;
+    /** System.out of the benchmark JVM, restored after the trial */
+    private PrintStream console;
+
+    @Setup
+    public void setUp()
+    {
+        list = new CircularLinkedList();
+        for (int i = 0; i < size; i++)
+        {
+            list.insertAtTail(i);
+        }
+        middle = list.getHead();
+        for (int i = 1; i < size / 2; i++)
+        {
+            middle = middle.getNext();
+        }
+        console = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+    }
+
+    @TearDown
+    public void tearDown()
+    {
+        System.setOut(console);
+    }
+
+    @Benchmark
+    public void insertDeleteHead()
+    {
+        list.insertAtHead(42);
+        list.deleteAtHead();
+    }
+
+    @Benchmark
+    public void insertDeleteTail()
+    {
+        list.insertAtTail(42);
+        list.deleteAtTail();
+    }
+
+    @Benchmark
+    public int traverse()
+    {
+        return list.length();
+    }
+
+    @Benchmark
+    public void splitConcatMiddle()
+    {
+        list.concat(list.splitAfter(middle));
+    }
+
+    @Benchmark
+    public long sumInternalIteration()
+    {
+        return list.sum();
+    }
+
+    @Benchmark
+    public void printList()
+    {
+        list.printList();
+    }
+}
@@ -0,0 +1,70 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import recursion.backtracking.BacktrackingSearch;
+import recursion.backtracking.Combinations;
+import recursion.backtracking.Permutations;
+
+/**
+ * Benchmarks the permutation, combination and subset generators and the pruned
+ * backtracking search, each consuming every generated result. The sizes give spaces of
+ * a few hundred thousand to a few million results.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CombinatoricsBenchmark
+{
+    @Benchmark
+    public void permutations(Blackhole blackhole)
+    {
+        Permutations.forEach(10, permutation -> blackhole.consume(permutation[0]));
+    }
+
+    @Benchmark
+    public void combinations(Blackhole blackhole)
+    {
+        Combinations.forEach(24, 12, indices -> blackhole.consume(indices[0]));
+    }
+
+    @Benchmark
+    public void combinationMasks(Blackhole blackhole)
+    {
+        Combinations.forEachMask(24, 12, blackhole::consume);
+    }
+
+    @Benchmark
+    public void subsets(Blackhole blackhole)
+    {
+        Combinations.forEachSubset(20, subset -> blackhole.consume(subset.length));
+    }
+
+    @Benchmark
+    public long backtrackingNoAdjacent(Blackhole blackhole)
+    {
+        return BacktrackingSearch.uniform(24, 2).addConstraint(BacktrackingSearch.noAdjacent(1))
+                .search(digits -> blackhole.consume(digits[0])).getSolutions();
+    }
+
+    @Benchmark
+    public long backtrackingBoundedSum(Blackhole blackhole)
+    {
+        return BacktrackingSearch.uniform(10, 4).addConstraint(BacktrackingSearch.partialSumAtMost(12))
+                .search(digits -> blackhole.consume(digits[0])).getSolutions();
+    }
+}
@@ -0,0 +1,147 @@
+package benchmarks;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayDeque;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import datastructures.doublylinkedlist.DLLNode;
+import datastructures.doublylinkedlist.DoublyLinkedList;
+
+/**
+ * Benchmarks the doubly linked list against java.util.LinkedList and ArrayDeque.
+ * Insertions are paired with the matching deletion so the list keeps its size across
+ * invocations. The print benchmark writes to a discarding stream, so it measures the
+ * formatting rather than the console.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DoublyLinkedListBenchmark
+{
+    @Param({ "16", "1024", "65536" })
+    public int size;
+
+    private DoublyLinkedList list;
+    private java.util.LinkedList<Integer> javaList;
+    private ArrayDeque<Integer> deque;
+    /** System.out of the benchmark JVM, restored after the trial */
+    private PrintStream console;
+
+    @Setup
+    public void setUp()
+    {
+        list = new DoublyLinkedList();
+        javaList = new java.util.LinkedList<>();
+        deque = new ArrayDeque<>();
+        for (int i = 0; i < size; i++)
+        {
+            list.insertAtTail(i);
+            javaList.addLast(i);
+            deque.addLast(i);
+        }
+        console = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+    }
+
+    @TearDown
+    public void tearDown()
+    {
+        System.setOut(console);
+    }
+
+    @Benchmark
+    public void insertDeleteHead()
+    {
+        list.insertAtHead(42);
+        list.deleteAtHead();
+    }
+
+    @Benchmark
+    public void insertDeleteTail()
+    {
+        list.insertAtTail(42);
+        list.deleteAtTail();
+    }
+
+    @Benchmark
+    public void insertDeleteMiddle()
+    {
+        list.insertAtPosition(42, size / 2);
+        list.deleteAtPosition(size / 2);
+    }
+
+    @Benchmark
+    public int traverse()
+    {
+        int count = 0;
+        for (DLLNode node = list.getHead(); node != null; node = node.getNext())
+        {
+            count++;
+        }
+        return count;
+    }
+
+    @Benchmark
+    public long sumInternalIteration()
+    {
+        return list.sum();
+    }
+
+    @Benchmark
+    public void printForward()
+    {
+        list.printForward();
+    }
+
+    @Benchmark
+    public Integer baselineJavaLinkedListHead()
+    {
+        javaList.addFirst(42);
+        return javaList.removeFirst();
+    }
+
+    @Benchmark
+    public Integer baselineJavaLinkedListTail()
+    {
+        javaList.addLast(42);
+        return javaList.removeLast();
+    }
+
+    @Benchmark
+    public Integer baselineJavaLinkedListMiddle()
+    {
+        javaList.add(size / 2, 42);
+        return javaList.remove(size / 2);
+    }
+
+    @Benchmark
+    public Integer baselineArrayDequeHead()
+    {
+        deque.addFirst(42);
+        return deque.pollFirst();
+    }
+
+    @Benchmark
+    public Integer baselineArrayDequeTail()
+    {
+        deque.addLast(42);
+        return deque.pollLast();
+    }
+}
@@ -0,0 +1,154 @@
+package benchmarks;
+
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import datastructures.heap.FibonacciHeap;
+import datastructures.heap.PairingHeap;
+
+/**
+ * Benchmarks a Dijkstra-like workload: insert size entries, then alternate extractMin with
+ * a few decreaseKey calls on the remaining entries. The PriorityQueue variant lowers a key
+ * by removing the entry and inserting it again.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class HeapBenchmark
+{
+    /** Number of decreaseKey calls per extractMin */
+    private static final int DECREASES = 4;
+
+    @Param({ "1000", "10000" })
+    public int size;
+
+    /** Initial keys */
+    private long[] keys;
+    /** Targets of the decreaseKey calls, in order */
+    private int[] targets;
+
+    @Setup
+    public void setUp()
+    {
+        Random random = new Random(42);
+        keys = new long[size];
+        for (int i = 0; i < size; i++)
+        {
+            keys[i] = 1_000_000 + random.nextInt(1_000_000);
+        }
+        targets = new int[size * DECREASES];
+        for (int i = 0; i < targets.length; i++)
+        {
+            targets[i] = random.nextInt(size);
+        }
+    }
+
+    @Benchmark
+    public long fibonacciHeap()
+    {
+        FibonacciHeap<Integer> heap = new FibonacciHeap<>();
+        @SuppressWarnings("unchecked")
+        FibonacciHeap.Node<Integer>[] handles = (FibonacciHeap.Node<Integer>[]) new FibonacciHeap.Node<?>[size];
+        boolean[] extracted = new boolean[size];
+        for (int i = 0; i < size; i++)
+        {
+            handles[i] = heap.insert(keys[i], i);
+        }
+        long sum = 0;
+        int t = 0;
+        while (!heap.isEmpty())
+        {
+            FibonacciHeap.Node<Integer> min = heap.extractMin();
+            extracted[min.getValue()] = true;
+            sum += min.getKey();
+            for (int d = 0; d < DECREASES; d++)
+            {
+                int target = targets[t++];
+                if (!extracted[target])
+                {
+                    heap.decreaseKey(handles[target], Math.max(min.getKey(), handles[target].getKey() - 1000));
+                }
+            }
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long pairingHeap()
+    {
+        PairingHeap<Integer> heap = new PairingHeap<>();
+        @SuppressWarnings("unchecked")
+        PairingHeap.Node<Integer>[] handles = (PairingHeap.Node<Integer>[]) new PairingHeap.Node<?>[size];
+        boolean[] extracted = new boolean[size];
+        for (int i = 0; i < size; i++)
+        {
+            handles[i] = heap.insert(keys[i], i);
+        }
+        long sum = 0;
+        int t = 0;
+        while (!heap.isEmpty())
+        {
+            PairingHeap.Node<Integer> min = heap.extractMin();
+            extracted[min.getValue()] = true;
+            sum += min.getKey();
+            for (int d = 0; d < DECREASES; d++)
+            {
+                int target = targets[t++];
+                if (!extracted[target])
+                {
+                    heap.decreaseKey(handles[target], Math.max(min.getKey(), handles[target].getKey() - 1000));
+                }
+            }
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long priorityQueueRemoveAndReinsert()
+    {
+        PriorityQueue<long[]> queue = new PriorityQueue<>((a, b) -> Long.compare(a[0], b[0]));
+        long[][] entries = new long[size][];
+        boolean[] extracted = new boolean[size];
+        for (int i = 0; i < size; i++)
+        {
+            entries[i] = new long[] { keys[i], i };
+            queue.add(entries[i]);
+        }
+        long sum = 0;
+        int t = 0;
+        while (!queue.isEmpty())
+        {
+            long[] min = queue.poll();
+            extracted[(int) min[1]] = true;
+            sum += min[0];
+            for (int d = 0; d < DECREASES; d++)
+            {
+                int target = targets[t++];
+                if (!extracted[target])
+                {
+                    long[] entry = entries[target];
+                    queue.remove(entry);
+                    entry[0] = Math.max(min[0], entry[0] - 1000);
+                    queue.add(entry);
+                }
+            }
+        }
+        return sum;
+    }
+}
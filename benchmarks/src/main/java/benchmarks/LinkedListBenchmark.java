@@ -0,0 +1,134 @@
+package benchmarks;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import datastructures.linkedlist.LinkedList;
+
+/**
+ * Benchmarks the singly linked list against java.util.LinkedList and ArrayDeque.
+ * Insertions are paired with the matching deletion so the list keeps its size
+ * across invocations and every measurement sees a list of exactly size elements.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class LinkedListBenchmark
+{
+    @Param({ "16", "1024", "65536" })
+    public int size;
+
+    private LinkedList list;
+    private java.util.LinkedList<Integer> javaList;
+    private ArrayDeque<Integer> deque;
+
+    @Setup
+    public void setUp()
+    {
+        list = new LinkedList();
+        javaList = new java.util.LinkedList<>();
+        deque = new ArrayDeque<>();
+        for (int i = 0; i < size; i++)
+        {
+            list.insertAtHead(i);
+            javaList.addFirst(i);
+            deque.addFirst(i);
+        }
+    }
+
+    @Benchmark
+    public void insertDeleteHead()
+    {
+        list.insertAtHead(42);
+        list.deleteAtHead();
+    }
+
+    @Benchmark
+    public void insertDeleteTail()
+    {
+        list.insertAtTail(42);
+        list.deleteAtTail();
+    }
+
+    @Benchmark
+    public void insertDeleteTailTwoPointers()
+    {
+        list.insertAtTail(42);
+        list.deleteAtTailTwoPointers();
+    }
+
+    @Benchmark
+    public void insertDeleteMiddle()
+    {
+        list.insertAtPosition(42, size / 2);
+        list.deleteAtPosition(size / 2);
+    }
+
+    @Benchmark
+    public void insertDeleteMiddleTwoPointers()
+    {
+        list.insertAtPosition(42, size / 2);
+        list.deleteAtPositionTwoPointers(size / 2);
+    }
+
+    @Benchmark
+    public int traverse()
+    {
+        return list.length();
+    }
+
+    @Benchmark
+    public long sumInternalIteration()
+    {
+        return list.sum();
+    }
+
+    @Benchmark
+    public int countInternalIteration()
+    {
+        return list.count(value -> (value & 1) == 0);
+    }
+
+    @Benchmark
+    public Integer baselineJavaLinkedListHead()
+    {
+        javaList.addFirst(42);
+        return javaList.removeFirst();
+    }
+
+    @Benchmark
+    public Integer baselineJavaLinkedListMiddle()
+    {
+        javaList.add(size / 2, 42);
+        return javaList.remove(size / 2);
+    }
+
+    @Benchmark
+    public Integer baselineArrayDequeHead()
+    {
+        deque.addFirst(42);
+        return deque.pollFirst();
+    }
+
+    @Benchmark
+    public Integer baselineArrayDequeTail()
+    {
+        deque.addLast(42);
+        return deque.pollLast();
+    }
+}
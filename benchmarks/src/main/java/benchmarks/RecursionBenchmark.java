@@ -0,0 +1,143 @@
+package benchmarks;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.math.BigInteger;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import recursion.BigFactorial;
+import recursion.FactorialRecursion;
+import recursion.Fibonacci;
+import recursion.HanoiMoves;
+import recursion.SortedArray;
+import recursion.SortednessChecker;
+import recursion.TowerOfHanoi;
+
+/**
+ * Benchmarks the routines of the recursion package: Fibonacci, the factorial variants,
+ * the sortedness checks and Tower of Hanoi move generation.
+ * The recursive isSorted is limited to sizes that fit on the default thread stack.
+ * The printing Hanoi solvers write to a discarding stream, so they measure the formatting
+ * rather than the console.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RecursionBenchmark
+{
+    @Param({ "1000", "5000" })
+    public int size;
+
+    private int[] sorted;
+    private SortednessChecker checker;
+    /** System.out of the benchmark JVM, restored after the trial */
+    private PrintStream console;
+
+    @Setup
+    public void setUp()
+    {
+        sorted = new int[size];
+        for (int i = 0; i < size; i++)
+        {
+            sorted[i] = i;
+        }
+        checker = new SortednessChecker(SortednessChecker.Order.ASCENDING, true);
+        console = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+    }
+
+    @TearDown
+    public void tearDown()
+    {
+        System.setOut(console);
+    }
+
+    @Benchmark
+    public int fibonacci()
+    {
+        return Fibonacci.fibonacci(20);
+    }
+
+    @Benchmark
+    public int factorialRecursive()
+    {
+        return FactorialRecursion.factorial(12);
+    }
+
+    @Benchmark
+    public int factorialExplicitStack()
+    {
+        return FactorialRecursion.factorialIterative(12);
+    }
+
+    @Benchmark
+    public long factorialTable()
+    {
+        return BigFactorial.factorialLong(20);
+    }
+
+    @Benchmark
+    public BigInteger factorialBig()
+    {
+        return BigFactorial.factorial(size);
+    }
+
+    @Benchmark
+    public boolean isSortedRecursive()
+    {
+        return SortedArray.isSorted(sorted, 0);
+    }
+
+    @Benchmark
+    public boolean isSortedIterative()
+    {
+        return SortedArray.isSortedIterative(sorted, 0);
+    }
+
+    @Benchmark
+    public SortednessChecker.Report isSortedReport()
+    {
+        return checker.check(sorted);
+    }
+
+    @Benchmark
+    public void hanoiMoves(Blackhole blackhole)
+    {
+        HanoiMoves.solve(16, (disk, from, to) -> blackhole.consume(disk + from + to));
+    }
+
+    @Benchmark
+    public int hanoiMoveAt()
+    {
+        return HanoiMoves.moveAt(60, 123_456_789_012_345L);
+    }
+
+    @Benchmark
+    public void hanoiRecursivePrint()
+    {
+        TowerOfHanoi.solveTowerOfHanoi(10, 'A', 'B', 'C');
+    }
+
+    @Benchmark
+    public void hanoiIterativePrint()
+    {
+        TowerOfHanoi.solveTowerOfHanoiIterative(10, 'A', 'B', 'C');
+    }
+}
@@ -0,0 +1,89 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import recursion.backtracking.BinaryStrings;
+import recursion.backtracking.KAryStringSpliterator;
+import recursion.backtracking.KAryStrings;
+import recursion.backtracking.PackedStrings;
+import recursion.backtracking.ParallelKAryStrings;
+
+/**
+ * Benchmarks the binary and k-ary string generators. The print-based generators are
+ * dominated by console output, so the visitor, stream and packed variants are measured,
+ * each consuming every generated string.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class StringGeneratorBenchmark
+{
+    @Param({ "12", "16" })
+    public int length;
+
+    private BinaryStrings binaryStrings;
+    private KAryStrings kAryStrings;
+    private PackedStrings packedBinary;
+    /** Buffer for the batched packed variant */
+    private final long[] batch = new long[1024];
+
+    @Setup
+    public void setUp()
+    {
+        binaryStrings = new BinaryStrings(length);
+        kAryStrings = new KAryStrings(length, 2);
+        packedBinary = new PackedStrings(length, 2);
+    }
+
+    @Benchmark
+    public void binaryGrayCode(Blackhole blackhole)
+    {
+        binaryStrings.visitGrayCode((index, value) -> blackhole.consume(index));
+    }
+
+    @Benchmark
+    public void kAryGrayCode(Blackhole blackhole)
+    {
+        kAryStrings.visitGrayCode(2, (index, value) -> blackhole.consume(index));
+    }
+
+    @Benchmark
+    public void binaryPacked(Blackhole blackhole)
+    {
+        packedBinary.forEach(blackhole::consume);
+    }
+
+    @Benchmark
+    public void binaryPackedBatches(Blackhole blackhole)
+    {
+        packedBinary.forEachBatch(batch, (packed, length) -> blackhole.consume(packed[length - 1]));
+    }
+
+    @Benchmark
+    public long binarySpliterator()
+    {
+        return KAryStringSpliterator.stream(length, 2, false).mapToInt(digits -> digits[0]).sum();
+    }
+
+    @Benchmark
+    public void binaryParallel(Blackhole blackhole)
+    {
+        new ParallelKAryStrings(length, 2).forEach(digits -> blackhole.consume(digits[0]));
+    }
+}
@@ -1,5 +1,15 @@
 package datastructures.doublylinkedlist;
 
+import datastructures.snapshot.ListSnapshot;
+import java.io.IOException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.OptionalInt;
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+import java.util.function.IntUnaryOperator;
+
 /**
  * Implementation of a doubly linked list data structure.
  * Each node has references to both next and previous nodes.
@@ -68,13 +78,13 @@ public class DoublyLinkedList
      * @param position The position to insert the new node at (0-based indexing)
      * 
      * Base cases:
-     * - Invalid position (< 0)
+     * - Invalid position (< 0 or > length)
      * - Insertion at head (position = 0)
      * 
      * Logic:
      * 1. Traverse to the node before the insertion point
      * 2. Create new node and update its next and previous pointers
-     * 3. Update the next node's previous pointer if it exists
+     * 3. Update the next node's previous pointer if it exists, otherwise the new node is the tail
      * 4. Update the current node's next pointer
      */
     public void insertAtPosition(int data, int position)
@@ -96,6 +106,11 @@ public class DoublyLinkedList
             current = current.getNext();
             i++;
         }
+        if (current == null)
+        {
+            System.out.println("Invalid position");
+            return;
+        }
         DLLNode newNode = new DLLNode(data);
         newNode.setNext(current.getNext());
         newNode.setPrevious(current);
@@ -103,6 +118,10 @@ public class DoublyLinkedList
         {
             current.getNext().setPrevious(newNode);
         }
+        else
+        {
+            tail = newNode;
+        }
         current.setNext(newNode);
     }
 
@@ -201,6 +220,370 @@ public class DoublyLinkedList
 
     }
 
+    /**
+     * Returns the first node, e.g. as the starting point of a range for {@link #splice}.
+     * 
+     * @return The head node, or null if the list is empty
+     */
+    public DLLNode getHead()
+    {
+        return head;
+    }
+
+    /**
+     * Returns the last node.
+     * 
+     * @return The tail node, or null if the list is empty
+     */
+    public DLLNode getTail()
+    {
+        return tail;
+    }
+
+    /**
+     * Moves all nodes of another list to the end of this list; the other list becomes empty.
+     * Time Complexity: O(1)
+     * 
+     * @param other The list to append; must not be this list
+     * 
+     * Base cases:
+     * - Other list is empty: nothing to do
+     * - This list is empty: take over other's head and tail
+     */
+    public void concat(DoublyLinkedList other)
+    {
+        if (other == this)
+        {
+            throw new IllegalArgumentException("Cannot concatenate a list with itself");
+        }
+        if (other.head == null)
+        {
+            return;
+        }
+        if (head == null)
+        {
+            head = other.head;
+        }
+        else
+        {
+            tail.setNext(other.head);
+            other.head.setPrevious(tail);
+        }
+        tail = other.tail;
+        other.head = other.tail = null;
+    }
+
+    /**
+     * Moves the nodes first..last (inclusive) of source into this list right after a node.
+     * The nodes themselves are relinked, nothing is copied.
+     * Time Complexity: O(1)
+     * 
+     * @param after The node of this list to insert after, or null to insert at the head
+     * @param source The list holding the range; may be this list if after is outside the range
+     * @param first The first node of the range
+     * @param last The last node of the range, reachable from first by following next
+     * 
+     * Logic:
+     * 1. Unlink the range from source, fixing source's head and tail if the range touches them
+     * 2. Link it between after and after's successor, fixing this list's head and tail
+     */
+    public void splice(DLLNode after, DoublyLinkedList source, DLLNode first, DLLNode last)
+    {
+        DLLNode before = first.getPrevious();
+        DLLNode beyond = last.getNext();
+        if (before == null)
+        {
+            source.head = beyond;
+        }
+        else
+        {
+            before.setNext(beyond);
+        }
+        if (beyond == null)
+        {
+            source.tail = before;
+        }
+        else
+        {
+            beyond.setPrevious(before);
+        }
+
+        DLLNode successor = after == null ? head : after.getNext();
+        first.setPrevious(after);
+        last.setNext(successor);
+        if (after == null)
+        {
+            head = first;
+        }
+        else
+        {
+            after.setNext(first);
+        }
+        if (successor == null)
+        {
+            tail = last;
+        }
+        else
+        {
+            successor.setPrevious(last);
+        }
+    }
+
+    /**
+     * Splits the list before a node: the node and everything after it move to a new list,
+     * and this list keeps the nodes before it.
+     * Time Complexity: O(1)
+     * 
+     * @param node The first node of the second list; must belong to this list
+     * @return The list holding node..tail
+     */
+    public DoublyLinkedList splitAt(DLLNode node)
+    {
+        DoublyLinkedList second = new DoublyLinkedList();
+        second.head = node;
+        second.tail = tail;
+        tail = node.getPrevious();
+        if (tail == null)
+        {
+            head = null;
+        }
+        else
+        {
+            tail.setNext(null);
+        }
+        node.setPrevious(null);
+        return second;
+    }
+
+    /**
+     * Reverses the nodes first..last (inclusive) in place.
+     * Time Complexity: O(k) for a range of k nodes
+     * 
+     * @param first The first node of the range
+     * @param last The last node of the range, reachable from first by following next
+     * 
+     * Logic:
+     * 1. Swap next and previous of every node in the range
+     * 2. Link the old last node after the range's predecessor and the old first node
+     *    before its successor, updating head or tail when the range touches an end
+     */
+    public void reverseRange(DLLNode first, DLLNode last)
+    {
+        DLLNode before = first.getPrevious();
+        DLLNode beyond = last.getNext();
+        DLLNode current = first;
+        while (current != beyond)
+        {
+            DLLNode next = current.getNext();
+            current.setNext(current.getPrevious());
+            current.setPrevious(next);
+            current = next;
+        }
+        last.setPrevious(before);
+        first.setNext(beyond);
+        if (before == null)
+        {
+            head = last;
+        }
+        else
+        {
+            before.setNext(last);
+        }
+        if (beyond == null)
+        {
+            tail = first;
+        }
+        else
+        {
+            beyond.setPrevious(first);
+        }
+    }
+
+    /**
+     * Removes every node whose value matches the predicate in a single pass, relinking
+     * each survivor once instead of calling deleteAtPosition per match.
+     * Time Complexity: O(n)
+     * 
+     * @param filter Returns true for the values to remove
+     * @return The number of removed nodes
+     * 
+     * Logic: Walk with a pointer to the last kept node, link it to the next kept node,
+     * and fix head and tail at the end
+     */
+    public int removeIf(IntPredicate filter)
+    {
+        int removed = 0;
+        DLLNode kept = null;
+        DLLNode current = head;
+        head = null;
+        while (current != null)
+        {
+            DLLNode next = current.getNext();
+            if (filter.test(current.getData()))
+            {
+                current.setNext(null);
+                current.setPrevious(null);
+                removed++;
+            }
+            else
+            {
+                current.setPrevious(kept);
+                if (kept == null)
+                {
+                    head = current;
+                }
+                else
+                {
+                    kept.setNext(current);
+                }
+                kept = current;
+            }
+            current = next;
+        }
+        if (kept != null)
+        {
+            kept.setNext(null);
+        }
+        tail = kept;
+        return removed;
+    }
+
+    /**
+     * Passes every value to the action, from head to tail.
+     * Time Complexity: O(n)
+     * 
+     * @param action Receives each value
+     */
+    public void forEach(IntConsumer action)
+    {
+        DLLNode current = head;
+        while (current != null)
+        {
+            action.accept(current.getData());
+            current = current.getNext();
+        }
+    }
+
+    /**
+     * Replaces every value with the result of the operator, in place.
+     * Time Complexity: O(n)
+     * 
+     * @param operator Maps each value to its replacement
+     */
+    public void replaceAll(IntUnaryOperator operator)
+    {
+        DLLNode current = head;
+        while (current != null)
+        {
+            current.setData(operator.applyAsInt(current.getData()));
+            current = current.getNext();
+        }
+    }
+
+    /**
+     * Combines all values from head to tail: result = operator(...operator(identity, v0)..., vn-1).
+     * Time Complexity: O(n)
+     * 
+     * @param identity The initial result, returned for an empty list
+     * @param operator Combines the result so far with the next value
+     * @return The combined result
+     */
+    public int reduce(int identity, IntBinaryOperator operator)
+    {
+        int result = identity;
+        DLLNode current = head;
+        while (current != null)
+        {
+            result = operator.applyAsInt(result, current.getData());
+            current = current.getNext();
+        }
+        return result;
+    }
+
+    /**
+     * Adds all values without overflow for lists of up to 2^32 values.
+     * Time Complexity: O(n)
+     * 
+     * @return The sum, 0 for an empty list
+     */
+    public long sum()
+    {
+        long sum = 0;
+        DLLNode current = head;
+        while (current != null)
+        {
+            sum += current.getData();
+            current = current.getNext();
+        }
+        return sum;
+    }
+
+    /**
+     * Finds the smallest value.
+     * Time Complexity: O(n)
+     * 
+     * @return The minimum, or empty for an empty list
+     */
+    public OptionalInt min()
+    {
+        if (head == null)
+        {
+            return OptionalInt.empty();
+        }
+        int min = head.getData();
+        DLLNode current = head;
+        while (current != null)
+        {
+            min = Math.min(min, current.getData());
+            current = current.getNext();
+        }
+        return OptionalInt.of(min);
+    }
+
+    /**
+     * Finds the largest value.
+     * Time Complexity: O(n)
+     * 
+     * @return The maximum, or empty for an empty list
+     */
+    public OptionalInt max()
+    {
+        if (head == null)
+        {
+            return OptionalInt.empty();
+        }
+        int max = head.getData();
+        DLLNode current = head;
+        while (current != null)
+        {
+            max = Math.max(max, current.getData());
+            current = current.getNext();
+        }
+        return OptionalInt.of(max);
+    }
+
+    /**
+     * Counts the values that match a predicate.
+     * Time Complexity: O(n)
+     * 
+     * @param predicate The condition to test
+     * @return The number of matching values
+     */
+    public int count(IntPredicate predicate)
+    {
+        int count = 0;
+        DLLNode current = head;
+        while (current != null)
+        {
+            if (predicate.test(current.getData()))
+            {
+                count++;
+            }
+            current = current.getNext();
+        }
+        return count;
+    }
+
     /**
      * Prints all elements in the list from head to tail.
      */
@@ -229,6 +612,41 @@ public class DoublyLinkedList
         System.out.println("null");
     }
 
+    /**
+     * Writes the list from head to tail in the {@link ListSnapshot} binary format.
+     * Time Complexity: O(n)
+     * 
+     * @param channel The destination; it is not closed
+     * @param checksums true to protect every block with a CRC32
+     * @throws IOException if the channel cannot be written
+     */
+    public void writeTo(WritableByteChannel channel, boolean checksums) throws IOException
+    {
+        ListSnapshot.Writer writer = new ListSnapshot.Writer(channel, checksums);
+        DLLNode current = head;
+        while (current != null)
+        {
+            writer.write(current.getData());
+            current = current.getNext();
+        }
+        writer.finish();
+    }
+
+    /**
+     * Rebuilds a list from a snapshot written by {@link #writeTo}.
+     * Time Complexity: O(n)
+     * 
+     * @param channel The source, positioned at the snapshot; it is not closed
+     * @return The restored list
+     * @throws IOException if the snapshot is truncated, corrupt or of another version
+     */
+    public static DoublyLinkedList readFrom(ReadableByteChannel channel) throws IOException
+    {
+        DoublyLinkedList list = new DoublyLinkedList();
+        ListSnapshot.read(channel, list::insertAtTail);
+        return list;
+    }
+
     /**
      * Demonstrates basic doubly linked list operations.
      */
@@ -249,5 +667,33 @@ public class DoublyLinkedList
         list.deleteAtPosition(5);
         System.out.println("After deletions:");
         list.printForward();
+
+        DoublyLinkedList other = new DoublyLinkedList();
+        other.insertAtTail(6);
+        other.insertAtTail(7);
+        other.insertAtTail(8);
+        list.concat(other);
+        System.out.println("After concatenating 6, 7, 8:");
+        list.printForward();
+
+        list.reverseRange(list.getHead().getNext(), list.getTail().getPrevious());
+        System.out.println("After reversing all but the ends:");
+        list.printForward();
+
+        DoublyLinkedList second = list.splitAt(list.getHead().getNext().getNext());
+        System.out.println("Split after two nodes:");
+        list.printForward();
+        second.printForward();
+
+        list.splice(list.getHead(), second, second.getHead(), second.getHead().getNext());
+        System.out.println("After splicing the first two nodes of the second list after the head:");
+        list.printForward();
+        second.printBackward();
+
+        list.removeIf(value -> value % 2 == 0);
+        System.out.println("After removing even values, min " + list.min() + ", product "
+                + list.reduce(1, (result, value) -> result * value) + ":");
+        list.printForward();
+        list.printBackward();
     }
 }
@@ -0,0 +1,348 @@
+package datastructures.doublylinkedlist;
+
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+/**
+ * Streaming aggregates over a sliding window of int samples: min, max, sum, mean and variance,
+ * each available in O(1) after an O(1) amortized update per sample, instead of rescanning
+ * the window on every sample.
+ *
+ * Two kinds of windows:
+ * - Count-based: the last windowSize samples
+ * - Time-based: the samples whose timestamp is greater than now - windowLength, where now is
+ *   the latest timestamp seen; timestamps must not decrease
+ *
+ * The samples of the window are kept in a ring buffer so the oldest one can be evicted in O(1).
+ * Min and max use monotonic deques stored in {@link DoublyLinkedList}s:
+ * - The min deque holds a non-decreasing run of values from head to tail. A new sample removes
+ *   every larger value from the tail before it is appended, since those values can never be
+ *   the minimum again while the new sample is in the window. The head is the window minimum
+ * - When a sample is evicted and equals the head, the head is removed. Equal values are all
+ *   kept, so this removes exactly the evicted sample's entry
+ * - The max deque is the mirror image
+ * Every sample is appended to and removed from each deque at most once, so the cost is
+ * O(1) amortized. The sum is exact; mean and variance are updated with Welford's method,
+ * extended to removals.
+ */
+public class SlidingWindowAggregator
+{
+    /** Capacity of a time-based window before its first resize */
+    private static final int INITIAL_CAPACITY = 16;
+
+    /** Number of samples in a count-based window, or -1 for a time-based one */
+    private final int windowSize;
+    /** Length of a time-based window */
+    private final long windowLength;
+
+    /** Ring buffer of the values in the window, oldest at first */
+    private int[] values;
+    /** Ring buffer of the timestamps, parallel to values (time-based windows only) */
+    private long[] timestamps;
+    /** Index of the oldest sample */
+    private int first;
+    /** Number of samples in the window */
+    private int count;
+    /** Latest timestamp seen */
+    private long now = Long.MIN_VALUE;
+
+    /** Values in non-decreasing order; the head is the minimum */
+    private final DoublyLinkedList minDeque = new DoublyLinkedList();
+    /** Values in non-increasing order; the head is the maximum */
+    private final DoublyLinkedList maxDeque = new DoublyLinkedList();
+
+    /** Exact sum of the window */
+    private long sum;
+    /** Running mean */
+    private double mean;
+    /** Sum of squared differences from the mean */
+    private double m2;
+
+    private SlidingWindowAggregator(int windowSize, long windowLength)
+    {
+        this.windowSize = windowSize;
+        this.windowLength = windowLength;
+        int capacity = windowSize > 0 ? windowSize : INITIAL_CAPACITY;
+        this.values = new int[capacity];
+        if (windowSize < 0)
+        {
+            this.timestamps = new long[capacity];
+        }
+    }
+
+    /**
+     * Creates a window over the last windowSize samples.
+     *
+     * @param windowSize The number of samples in a full window (>= 1)
+     * @return The aggregator
+     */
+    public static SlidingWindowAggregator countBased(int windowSize)
+    {
+        if (windowSize < 1)
+        {
+            throw new IllegalArgumentException("Window size must be positive: " + windowSize);
+        }
+        return new SlidingWindowAggregator(windowSize, 0);
+    }
+
+    /**
+     * Creates a window over the samples of the last windowLength time units.
+     *
+     * @param windowLength The length of the window (>= 1), in the unit of the timestamps
+     * @return The aggregator
+     */
+    public static SlidingWindowAggregator timeBased(long windowLength)
+    {
+        if (windowLength < 1)
+        {
+            throw new IllegalArgumentException("Window length must be positive: " + windowLength);
+        }
+        return new SlidingWindowAggregator(-1, windowLength);
+    }
+
+    /**
+     * Adds a sample to a count-based window, evicting the oldest sample if the window is full.
+     * Time Complexity: O(1) amortized
+     *
+     * @param value The sample
+     */
+    public void add(int value)
+    {
+        if (windowSize < 0)
+        {
+            throw new IllegalStateException("A time-based window needs a timestamp");
+        }
+        if (count == windowSize)
+        {
+            evictOldest();
+        }
+        append(value);
+    }
+
+    /**
+     * Adds a timestamped sample to a time-based window and evicts the samples that fell out.
+     * Time Complexity: O(1) amortized
+     *
+     * @param timestamp The time of the sample, not smaller than any earlier one
+     * @param value The sample
+     */
+    public void add(long timestamp, int value)
+    {
+        if (windowSize > 0)
+        {
+            throw new IllegalStateException("A count-based window has no timestamps");
+        }
+        advanceTo(timestamp);
+        if (count == values.length)
+        {
+            grow();
+        }
+        timestamps[(first + count) % values.length] = timestamp;
+        append(value);
+    }
+
+    /**
+     * Moves the clock of a time-based window forward without a sample,
+     * evicting the samples with timestamp <= now - windowLength.
+     * Time Complexity: O(1) amortized
+     *
+     * @param timestamp The current time, not smaller than any earlier one
+     * @throws IllegalStateException if the window is count-based
+     */
+    public void advanceTo(long timestamp)
+    {
+        if (windowSize > 0)
+        {
+            throw new IllegalStateException("advanceTo requires a time-based window");
+        }
+        if (timestamp < now)
+        {
+            throw new IllegalArgumentException("Timestamp " + timestamp + " is before " + now);
+        }
+        now = timestamp;
+        while (count > 0 && timestamps[first] <= now - windowLength)
+        {
+            evictOldest();
+        }
+    }
+
+    /**
+     * Returns the number of samples in the window.
+     *
+     * @return The sample count
+     */
+    public int count()
+    {
+        return count;
+    }
+
+    /**
+     * Returns the smallest sample in the window.
+     * Time Complexity: O(1)
+     *
+     * @return The minimum
+     * @throws NoSuchElementException if the window is empty
+     */
+    public int min()
+    {
+        checkNotEmpty();
+        return minDeque.getHead().getData();
+    }
+
+    /**
+     * Returns the largest sample in the window.
+     * Time Complexity: O(1)
+     *
+     * @return The maximum
+     * @throws NoSuchElementException if the window is empty
+     */
+    public int max()
+    {
+        checkNotEmpty();
+        return maxDeque.getHead().getData();
+    }
+
+    /**
+     * Returns the exact sum of the samples in the window.
+     *
+     * @return The sum, 0 for an empty window
+     */
+    public long sum()
+    {
+        return sum;
+    }
+
+    /**
+     * Returns the mean of the samples in the window.
+     *
+     * @return The mean
+     * @throws NoSuchElementException if the window is empty
+     */
+    public double mean()
+    {
+        checkNotEmpty();
+        return (double) sum / count;
+    }
+
+    /**
+     * Returns the population variance of the samples in the window.
+     *
+     * @return The variance
+     * @throws NoSuchElementException if the window is empty
+     */
+    public double variance()
+    {
+        checkNotEmpty();
+        return Math.max(0, m2 / count);
+    }
+
+    /**
+     * Appends a value after the newest sample and updates the aggregates.
+     *
+     * Logic:
+     * 1. Store the value in the ring buffer
+     * 2. Pop larger values from the tail of the min deque and smaller ones from the tail of
+     *    the max deque, then append the value to both
+     * 3. Add the value to the sum and the Welford accumulators
+     */
+    private void append(int value)
+    {
+        values[(first + count) % values.length] = value;
+        count++;
+        while (minDeque.getTail() != null && minDeque.getTail().getData() > value)
+        {
+            minDeque.deleteAtTail();
+        }
+        minDeque.insertAtTail(value);
+        while (maxDeque.getTail() != null && maxDeque.getTail().getData() < value)
+        {
+            maxDeque.deleteAtTail();
+        }
+        maxDeque.insertAtTail(value);
+        sum += value;
+        double delta = value - mean;
+        mean += delta / count;
+        m2 += delta * (value - mean);
+    }
+
+    /**
+     * Removes the oldest sample and reverses its contribution to the aggregates.
+     */
+    private void evictOldest()
+    {
+        int value = values[first];
+        first = (first + 1) % values.length;
+        count--;
+        if (minDeque.getHead().getData() == value)
+        {
+            minDeque.deleteAtHead();
+        }
+        if (maxDeque.getHead().getData() == value)
+        {
+            maxDeque.deleteAtHead();
+        }
+        sum -= value;
+        if (count == 0)
+        {
+            mean = 0;
+            m2 = 0;
+            return;
+        }
+        double delta = value - mean;
+        mean -= delta / count;
+        m2 -= delta * (value - mean);
+    }
+
+    /**
+     * Doubles the ring buffers of a time-based window, unrolling them to start at index 0.
+     */
+    private void grow()
+    {
+        int[] newValues = new int[values.length * 2];
+        long[] newTimestamps = new long[values.length * 2];
+        for (int i = 0; i < count; i++)
+        {
+            int index = (first + i) % values.length;
+            newValues[i] = values[index];
+            newTimestamps[i] = timestamps[index];
+        }
+        values = newValues;
+        timestamps = newTimestamps;
+        first = 0;
+    }
+
+    private void checkNotEmpty()
+    {
+        if (count == 0)
+        {
+            throw new NoSuchElementException("Window is empty");
+        }
+    }
+
+    /**
+     * Feeds a random walk through a count-based window of 100,000 samples and a
+     * time-based window of 1,000 time units and prints the aggregates.
+     */
+    public static void main(String[] args)
+    {
+        SlidingWindowAggregator byCount = countBased(100_000);
+        SlidingWindowAggregator byTime = timeBased(1_000);
+        Random random = new Random(1);
+        int value = 0;
+        long time = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < 5_000_000; i++)
+        {
+            value += random.nextInt(21) - 10;
+            time += random.nextInt(3);
+            byCount.add(value);
+            byTime.add(time, value);
+        }
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        System.out.printf("Last 100,000 samples: min %d, max %d, mean %.2f, variance %.2f%n", byCount.min(),
+                byCount.max(), byCount.mean(), byCount.variance());
+        System.out.printf("Last 1,000 time units (%d samples): min %d, max %d, mean %.2f%n", byTime.count(),
+                byTime.min(), byTime.max(), byTime.mean());
+        System.out.println("5,000,000 samples into both windows in " + millis + " ms");
+    }
+}
@@ -0,0 +1,854 @@
+package datastructures.generic;
+
+import java.util.AbstractSequentialList;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * A doubly linked list of objects that implements both {@link java.util.List} and
+ * {@link Deque}, so it can be passed to any collection API. It is the object counterpart of
+ * {@link datastructures.primitive.IntLinkedList}, {@link datastructures.primitive.LongLinkedList}
+ * and {@link datastructures.primitive.DoubleLinkedList}, and offers the same head/tail/position
+ * operations and {@link #rotate()} for circular use.
+ *
+ * Extending {@link AbstractSequentialList} provides the positional List methods on top of
+ * {@link #listIterator(int)}; the Deque and end operations are O(1). All iterators are fail-fast:
+ * they compare the inherited modCount on every step and throw ConcurrentModificationException
+ * after a structural change that did not go through the iterator.
+ *
+ * {@link #reversed()} returns a live reverse-order view, like java.util.LinkedList does.
+ * Declaring it here is also what lets the class compile on JDK 21, where List and Deque
+ * both define a default reversed() with unrelated return types.
+ *
+ * @param <T> The element type; null elements are allowed
+ */
+public class GenericLinkedList<T> extends AbstractSequentialList<T> implements Deque<T>
+{
+    /**
+     * A node holding one element.
+     */
+    private static final class Node<T>
+    {
+        T value;
+        Node<T> next;
+        Node<T> previous;
+
+        Node(T value)
+        {
+            this.value = value;
+        }
+    }
+
+    /** Reference to the first node in the list */
+    private Node<T> head;
+    /** Reference to the last node in the list */
+    private Node<T> tail;
+    /** Number of elements */
+    private int size;
+
+    /**
+     * Creates an empty list.
+     */
+    public GenericLinkedList()
+    {
+    }
+
+    /**
+     * Creates a list holding the elements of a collection in iteration order.
+     *
+     * @param elements The initial elements
+     */
+    public GenericLinkedList(Collection<? extends T> elements)
+    {
+        addAll(elements);
+    }
+
+    @Override
+    public int size()
+    {
+        return size;
+    }
+
+    /**
+     * Inserts an element at the beginning of the list.
+     * Time Complexity: O(1)
+     *
+     * @param value The element to insert
+     */
+    public void insertAtHead(T value)
+    {
+        addFirst(value);
+    }
+
+    /**
+     * Inserts an element at the end of the list.
+     * Time Complexity: O(1)
+     *
+     * @param value The element to insert
+     */
+    public void insertAtTail(T value)
+    {
+        addLast(value);
+    }
+
+    /**
+     * Inserts an element so that it ends up at the given position.
+     * Time Complexity: O(min(position, size - position))
+     *
+     * @param value The element to insert
+     * @param position The position of the new element (0 <= position <= size)
+     */
+    public void insertAtPosition(T value, int position)
+    {
+        add(position, value);
+    }
+
+    /**
+     * Removes and returns the first element.
+     *
+     * @return The removed element
+     * @throws NoSuchElementException if the list is empty
+     */
+    public T deleteAtHead()
+    {
+        return removeFirst();
+    }
+
+    /**
+     * Removes and returns the last element.
+     *
+     * @return The removed element
+     * @throws NoSuchElementException if the list is empty
+     */
+    public T deleteAtTail()
+    {
+        return removeLast();
+    }
+
+    /**
+     * Removes and returns the element at the given position.
+     *
+     * @param position The position to remove (0 <= position < size)
+     * @return The removed element
+     */
+    public T deleteAtPosition(int position)
+    {
+        return remove(position);
+    }
+
+    /**
+     * Moves the first element to the end, treating the list as a ring.
+     * Time Complexity: O(1)
+     */
+    public void rotate()
+    {
+        if (size < 2)
+        {
+            return;
+        }
+        Node<T> first = head;
+        head = first.next;
+        head.previous = null;
+        first.next = null;
+        first.previous = tail;
+        tail.next = first;
+        tail = first;
+        modCount++;
+    }
+
+    /**
+     * Moves the last element to the front, the inverse of {@link #rotate()}.
+     * Time Complexity: O(1)
+     */
+    private void rotateBackward()
+    {
+        if (size < 2)
+        {
+            return;
+        }
+        Node<T> last = tail;
+        tail = last.previous;
+        tail.next = null;
+        last.previous = null;
+        last.next = head;
+        head.previous = last;
+        head = last;
+        modCount++;
+    }
+
+    /**
+     * Returns a view of this list in reverse order. Changes through either list are visible
+     * in the other, and the view's iterators fail fast on changes to this list.
+     * Time Complexity: O(1); the operations of the view cost the same as on this list
+     *
+     * (No @Override: List.reversed() and Deque.reversed() only exist from JDK 21 on.)
+     *
+     * @return The reverse-order view; its own reversed() returns this list
+     */
+    public GenericLinkedList<T> reversed()
+    {
+        return new ReversedView<>(this);
+    }
+
+    @Override
+    public void clear()
+    {
+        head = tail = null;
+        size = 0;
+        modCount++;
+    }
+
+    @Override
+    public ListIterator<T> listIterator(int index)
+    {
+        if (index < 0 || index > size)
+        {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+        }
+        return new ListItr(index);
+    }
+
+    @Override
+    public Iterator<T> descendingIterator()
+    {
+        ListItr iterator = new ListItr(size);
+        return new Iterator<T>()
+        {
+            @Override
+            public boolean hasNext()
+            {
+                return iterator.hasPrevious();
+            }
+
+            @Override
+            public T next()
+            {
+                return iterator.previous();
+            }
+
+            @Override
+            public void remove()
+            {
+                iterator.remove();
+            }
+        };
+    }
+
+    // Deque operations, all O(1) except the occurrence removals
+
+    @Override
+    public void addFirst(T value)
+    {
+        linkBefore(value, head);
+    }
+
+    @Override
+    public void addLast(T value)
+    {
+        linkBefore(value, null);
+    }
+
+    @Override
+    public boolean offerFirst(T value)
+    {
+        addFirst(value);
+        return true;
+    }
+
+    @Override
+    public boolean offerLast(T value)
+    {
+        addLast(value);
+        return true;
+    }
+
+    @Override
+    public T removeFirst()
+    {
+        if (head == null)
+        {
+            throw new NoSuchElementException("List is empty");
+        }
+        return unlink(head);
+    }
+
+    @Override
+    public T removeLast()
+    {
+        if (tail == null)
+        {
+            throw new NoSuchElementException("List is empty");
+        }
+        return unlink(tail);
+    }
+
+    @Override
+    public T pollFirst()
+    {
+        return head == null ? null : unlink(head);
+    }
+
+    @Override
+    public T pollLast()
+    {
+        return tail == null ? null : unlink(tail);
+    }
+
+    @Override
+    public T getFirst()
+    {
+        if (head == null)
+        {
+            throw new NoSuchElementException("List is empty");
+        }
+        return head.value;
+    }
+
+    @Override
+    public T getLast()
+    {
+        if (tail == null)
+        {
+            throw new NoSuchElementException("List is empty");
+        }
+        return tail.value;
+    }
+
+    @Override
+    public T peekFirst()
+    {
+        return head == null ? null : head.value;
+    }
+
+    @Override
+    public T peekLast()
+    {
+        return tail == null ? null : tail.value;
+    }
+
+    @Override
+    public boolean removeFirstOccurrence(Object value)
+    {
+        for (Node<T> node = head; node != null; node = node.next)
+        {
+            if (Objects.equals(node.value, value))
+            {
+                unlink(node);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean removeLastOccurrence(Object value)
+    {
+        for (Node<T> node = tail; node != null; node = node.previous)
+        {
+            if (Objects.equals(node.value, value))
+            {
+                unlink(node);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean add(T value)
+    {
+        addLast(value);
+        return true;
+    }
+
+    @Override
+    public boolean remove(Object value)
+    {
+        return removeFirstOccurrence(value);
+    }
+
+    @Override
+    public boolean offer(T value)
+    {
+        return offerLast(value);
+    }
+
+    @Override
+    public T remove()
+    {
+        return removeFirst();
+    }
+
+    @Override
+    public T poll()
+    {
+        return pollFirst();
+    }
+
+    @Override
+    public T element()
+    {
+        return getFirst();
+    }
+
+    @Override
+    public T peek()
+    {
+        return peekFirst();
+    }
+
+    @Override
+    public void push(T value)
+    {
+        addFirst(value);
+    }
+
+    @Override
+    public T pop()
+    {
+        return removeFirst();
+    }
+
+    /**
+     * A fail-fast list iterator; cursor is the node returned by the next call to next().
+     */
+    private class ListItr implements ListIterator<T>
+    {
+        private Node<T> cursor;
+        private Node<T> lastReturned;
+        private int nextIndex;
+        private int expectedModCount = modCount;
+
+        ListItr(int index)
+        {
+            cursor = index == size ? null : node(index);
+            nextIndex = index;
+        }
+
+        @Override
+        public boolean hasNext()
+        {
+            return nextIndex < size;
+        }
+
+        @Override
+        public T next()
+        {
+            checkForComodification();
+            if (!hasNext())
+            {
+                throw new NoSuchElementException();
+            }
+            lastReturned = cursor;
+            cursor = cursor.next;
+            nextIndex++;
+            return lastReturned.value;
+        }
+
+        @Override
+        public boolean hasPrevious()
+        {
+            return nextIndex > 0;
+        }
+
+        @Override
+        public T previous()
+        {
+            checkForComodification();
+            if (!hasPrevious())
+            {
+                throw new NoSuchElementException();
+            }
+            cursor = cursor == null ? tail : cursor.previous;
+            lastReturned = cursor;
+            nextIndex--;
+            return lastReturned.value;
+        }
+
+        @Override
+        public int nextIndex()
+        {
+            return nextIndex;
+        }
+
+        @Override
+        public int previousIndex()
+        {
+            return nextIndex - 1;
+        }
+
+        @Override
+        public void remove()
+        {
+            checkForComodification();
+            if (lastReturned == null)
+            {
+                throw new IllegalStateException();
+            }
+            if (lastReturned == cursor)
+            {
+                // Removing the element returned by previous(): the cursor moves past it
+                cursor = cursor.next;
+            }
+            else
+            {
+                nextIndex--;
+            }
+            unlink(lastReturned);
+            lastReturned = null;
+            expectedModCount = modCount;
+        }
+
+        @Override
+        public void set(T value)
+        {
+            checkForComodification();
+            if (lastReturned == null)
+            {
+                throw new IllegalStateException();
+            }
+            lastReturned.value = value;
+        }
+
+        @Override
+        public void add(T value)
+        {
+            checkForComodification();
+            linkBefore(value, cursor);
+            nextIndex++;
+            lastReturned = null;
+            expectedModCount = modCount;
+        }
+
+        private void checkForComodification()
+        {
+            if (modCount != expectedModCount)
+            {
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
+
+    /**
+     * The view returned by {@link #reversed()}. It holds no nodes: every operation is mapped
+     * onto the base list with the ends swapped, and its list iterator walks a base iterator
+     * backwards, so position i of the view is position size - 1 - i of the base list.
+     * The inherited end and queue operations (add, push, poll, ...) are written in terms of
+     * the first/last operations overridden here, so they follow automatically.
+     */
+    private static final class ReversedView<T> extends GenericLinkedList<T>
+    {
+        private final GenericLinkedList<T> base;
+
+        ReversedView(GenericLinkedList<T> base)
+        {
+            this.base = base;
+        }
+
+        @Override
+        public GenericLinkedList<T> reversed()
+        {
+            return base;
+        }
+
+        @Override
+        public int size()
+        {
+            return base.size();
+        }
+
+        @Override
+        public void rotate()
+        {
+            base.rotateBackward();
+        }
+
+        @Override
+        public void clear()
+        {
+            base.clear();
+        }
+
+        @Override
+        public ListIterator<T> listIterator(int index)
+        {
+            int size = base.size();
+            if (index < 0 || index > size)
+            {
+                throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+            }
+            ListIterator<T> iterator = base.listIterator(size - index);
+            return new ListIterator<T>()
+            {
+                /** true if remove() and set() may act on the element last returned */
+                private boolean canModify;
+
+                @Override
+                public boolean hasNext()
+                {
+                    return iterator.hasPrevious();
+                }
+
+                @Override
+                public T next()
+                {
+                    T value = iterator.previous();
+                    canModify = true;
+                    return value;
+                }
+
+                @Override
+                public boolean hasPrevious()
+                {
+                    return iterator.hasNext();
+                }
+
+                @Override
+                public T previous()
+                {
+                    T value = iterator.next();
+                    canModify = true;
+                    return value;
+                }
+
+                @Override
+                public int nextIndex()
+                {
+                    return base.size() - iterator.nextIndex();
+                }
+
+                @Override
+                public int previousIndex()
+                {
+                    return nextIndex() - 1;
+                }
+
+                @Override
+                public void remove()
+                {
+                    checkCanModify();
+                    iterator.remove();
+                    canModify = false;
+                }
+
+                @Override
+                public void set(T value)
+                {
+                    checkCanModify();
+                    iterator.set(value);
+                }
+
+                /**
+                 * Inserts before the base cursor and steps back over the new element, so the
+                 * view's next() still returns the element that followed the cursor.
+                 */
+                @Override
+                public void add(T value)
+                {
+                    iterator.add(value);
+                    iterator.previous();
+                    canModify = false;
+                }
+
+                private void checkCanModify()
+                {
+                    if (!canModify)
+                    {
+                        throw new IllegalStateException();
+                    }
+                }
+            };
+        }
+
+        @Override
+        public Iterator<T> descendingIterator()
+        {
+            return base.iterator();
+        }
+
+        @Override
+        public void addFirst(T value)
+        {
+            base.addLast(value);
+        }
+
+        @Override
+        public void addLast(T value)
+        {
+            base.addFirst(value);
+        }
+
+        @Override
+        public T removeFirst()
+        {
+            return base.removeLast();
+        }
+
+        @Override
+        public T removeLast()
+        {
+            return base.removeFirst();
+        }
+
+        @Override
+        public T pollFirst()
+        {
+            return base.pollLast();
+        }
+
+        @Override
+        public T pollLast()
+        {
+            return base.pollFirst();
+        }
+
+        @Override
+        public T getFirst()
+        {
+            return base.getLast();
+        }
+
+        @Override
+        public T getLast()
+        {
+            return base.getFirst();
+        }
+
+        @Override
+        public T peekFirst()
+        {
+            return base.peekLast();
+        }
+
+        @Override
+        public T peekLast()
+        {
+            return base.peekFirst();
+        }
+
+        @Override
+        public boolean removeFirstOccurrence(Object value)
+        {
+            return base.removeLastOccurrence(value);
+        }
+
+        @Override
+        public boolean removeLastOccurrence(Object value)
+        {
+            return base.removeFirstOccurrence(value);
+        }
+    }
+
+    /**
+     * Returns the node at a valid index, walking from the nearer end.
+     */
+    private Node<T> node(int index)
+    {
+        if (index < size / 2)
+        {
+            Node<T> node = head;
+            for (int i = 0; i < index; i++)
+            {
+                node = node.next;
+            }
+            return node;
+        }
+        Node<T> node = tail;
+        for (int i = size - 1; i > index; i--)
+        {
+            node = node.previous;
+        }
+        return node;
+    }
+
+    /**
+     * Inserts a value before the given node, or at the end if successor is null.
+     */
+    private void linkBefore(T value, Node<T> successor)
+    {
+        Node<T> node = new Node<>(value);
+        Node<T> predecessor = successor == null ? tail : successor.previous;
+        node.previous = predecessor;
+        node.next = successor;
+        if (predecessor == null)
+        {
+            head = node;
+        }
+        else
+        {
+            predecessor.next = node;
+        }
+        if (successor == null)
+        {
+            tail = node;
+        }
+        else
+        {
+            successor.previous = node;
+        }
+        size++;
+        modCount++;
+    }
+
+    /**
+     * Removes a node, fixing head and tail as needed, and returns its value.
+     */
+    private T unlink(Node<T> node)
+    {
+        if (node.previous == null)
+        {
+            head = node.next;
+        }
+        else
+        {
+            node.previous.next = node.next;
+        }
+        if (node.next == null)
+        {
+            tail = node.previous;
+        }
+        else
+        {
+            node.next.previous = node.previous;
+        }
+        node.next = node.previous = null;
+        size--;
+        modCount++;
+        return node.value;
+    }
+
+    /**
+     * Demonstrates List, Deque and fail-fast iteration.
+     */
+    public static void main(String[] args)
+    {
+        GenericLinkedList<String> list = new GenericLinkedList<>();
+        list.add("b");
+        list.addFirst("a");
+        list.addLast("d");
+        list.add(2, "c");
+        System.out.println("List: " + list + ", index of c: " + list.indexOf("c"));
+        list.rotate();
+        System.out.println("After rotate: " + list);
+        System.out.println("Popped " + list.pop() + ", polled last " + list.pollLast() + ", list: " + list);
+        GenericLinkedList<String> reversed = list.reversed();
+        reversed.addFirst("z");
+        System.out.println("Reversed view after addFirst(z): " + reversed + ", list: " + list);
+        try
+        {
+            for (String value : list)
+            {
+                list.add(value);
+            }
+        }
+        catch (ConcurrentModificationException e)
+        {
+            System.out.println("Modifying the list during iteration fails fast");
+        }
+    }
+}
@@ -0,0 +1,499 @@
+package datastructures.heap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+/**
+ * A Fibonacci heap: a min-priority queue with O(1) amortized insert, merge and decreaseKey
+ * and O(log n) amortized extractMin.
+ *
+ * The heap is a collection of heap-ordered trees. Like {@link datastructures.doublylinkedlist.DLLNode},
+ * every node has next and previous links, but the lists are circular: the roots form one ring
+ * and the children of each node form another, so two rings are joined, and a node is cut out
+ * of or added to a ring, in O(1).
+ * - insert and merge only add to the root ring
+ * - extractMin moves the children of the minimum to the root ring and then consolidates:
+ *   roots of equal degree are linked until all degrees differ, which bounds the degree by
+ *   O(log n)
+ * - decreaseKey cuts a node that violates heap order and moves it to the root ring; a parent
+ *   that loses a second child is cut too (cascading cut), which keeps the trees bushy
+ *
+ * insert returns a {@link Node} handle, which is what decreaseKey and delete take, so
+ * callers such as Dijkstra's algorithm never have to search the heap.
+ *
+ * @param <T> The type of the values stored with the keys
+ */
+public class FibonacciHeap<T>
+{
+    /**
+     * A handle to an entry of the heap.
+     *
+     * @param <T> The type of the value
+     */
+    public static final class Node<T>
+    {
+        private long key;
+        private final T value;
+        private Node<T> next = this;
+        private Node<T> previous = this;
+        private Node<T> parent;
+        private Node<T> child;
+        /** Number of children */
+        private int degree;
+        /** true if the node lost a child since it became a child itself */
+        private boolean marked;
+        /** true once the node was extracted or deleted */
+        private boolean removed;
+
+        private Node(long key, T value)
+        {
+            this.key = key;
+            this.value = value;
+        }
+
+        /**
+         * Returns the priority of the entry.
+         *
+         * @return The key
+         */
+        public long getKey()
+        {
+            return key;
+        }
+
+        /**
+         * Returns the value stored with the key.
+         *
+         * @return The value
+         */
+        public T getValue()
+        {
+            return value;
+        }
+
+        @Override
+        public String toString()
+        {
+            return "Node{" + "key=" + key + ", value=" + value + '}';
+        }
+    }
+
+    /** Root with the smallest key, or null if the heap is empty */
+    private Node<T> min;
+    /** Number of entries */
+    private int size;
+    /** Roots indexed by degree during consolidation; reused between calls */
+    private Node<T>[] byDegree = newArray(8);
+
+    /**
+     * Returns the number of entries.
+     *
+     * @return The size of the heap
+     */
+    public int size()
+    {
+        return size;
+    }
+
+    /**
+     * Checks whether the heap has no entries.
+     *
+     * @return true if the heap is empty
+     */
+    public boolean isEmpty()
+    {
+        return size == 0;
+    }
+
+    /**
+     * Adds an entry.
+     * Time Complexity: O(1)
+     *
+     * @param key The priority; smaller keys are extracted first
+     * @param value The value stored with the key
+     * @return The handle of the new entry
+     */
+    public Node<T> insert(long key, T value)
+    {
+        Node<T> node = new Node<>(key, value);
+        min = joinRings(min, node);
+        size++;
+        return node;
+    }
+
+    /**
+     * Returns the entry with the smallest key without removing it.
+     * Time Complexity: O(1)
+     *
+     * @return The minimum entry
+     * @throws NoSuchElementException if the heap is empty
+     */
+    public Node<T> findMin()
+    {
+        if (min == null)
+        {
+            throw new NoSuchElementException("Heap is empty");
+        }
+        return min;
+    }
+
+    /**
+     * Moves all entries of another heap into this one; the other heap becomes empty.
+     * Handles of the other heap stay valid and now refer to this heap.
+     * Time Complexity: O(1)
+     *
+     * @param other The heap to merge; must not be this heap
+     */
+    public void merge(FibonacciHeap<T> other)
+    {
+        if (other == this)
+        {
+            throw new IllegalArgumentException("Cannot merge a heap with itself");
+        }
+        min = joinRings(min, other.min);
+        size += other.size;
+        other.min = null;
+        other.size = 0;
+    }
+
+    /**
+     * Removes and returns the entry with the smallest key.
+     * Time Complexity: O(log n) amortized
+     *
+     * Logic:
+     * 1. Move the children of the minimum into the root ring
+     * 2. Remove the minimum from the root ring
+     * 3. Consolidate the remaining roots and find the new minimum
+     *
+     * @return The minimum entry; its handle is no longer valid for decreaseKey or delete
+     * @throws NoSuchElementException if the heap is empty
+     */
+    public Node<T> extractMin()
+    {
+        Node<T> extracted = findMin();
+        Node<T> child = extracted.child;
+        if (child != null)
+        {
+            Node<T> current = child;
+            do
+            {
+                current.parent = null;
+                current.marked = false;
+                current = current.next;
+            }
+            while (current != child);
+            joinRings(extracted, child);
+            extracted.child = null;
+            extracted.degree = 0;
+        }
+        if (extracted.next == extracted)
+        {
+            min = null;
+        }
+        else
+        {
+            min = extracted.next;
+            removeFromRing(extracted);
+            consolidate();
+        }
+        size--;
+        extracted.removed = true;
+        return extracted;
+    }
+
+    /**
+     * Lowers the key of an entry.
+     * Time Complexity: O(1) amortized
+     *
+     * Logic:
+     * 1. Set the key; if the node now has a smaller key than its parent, cut it to the root ring
+     * 2. Walk up: a marked parent is cut as well, the first unmarked one is marked
+     * 3. Update the minimum
+     *
+     * @param node The handle returned by insert
+     * @param key The new key, not larger than the current one
+     * @throws IllegalArgumentException if the new key is larger
+     * @throws IllegalStateException if the entry was already removed
+     */
+    public void decreaseKey(Node<T> node, long key)
+    {
+        checkHandle(node);
+        if (key > node.key)
+        {
+            throw new IllegalArgumentException("New key " + key + " is larger than current key " + node.key);
+        }
+        node.key = key;
+        Node<T> parent = node.parent;
+        if (parent != null && key < parent.key)
+        {
+            cutToRoot(node);
+        }
+        if (key < min.key)
+        {
+            min = node;
+        }
+    }
+
+    /**
+     * Removes an entry.
+     * Time Complexity: O(log n) amortized
+     *
+     * @param node The handle returned by insert
+     * @throws IllegalStateException if the entry was already removed
+     */
+    public void delete(Node<T> node)
+    {
+        checkHandle(node);
+        if (node.parent != null)
+        {
+            cutToRoot(node);
+        }
+        min = node;
+        extractMin();
+    }
+
+    /**
+     * Cuts a node from its parent into the root ring, followed by the cascading cuts.
+     */
+    private void cutToRoot(Node<T> node)
+    {
+        Node<T> parent = node.parent;
+        while (true)
+        {
+            cut(node, parent);
+            Node<T> grandparent = parent.parent;
+            if (grandparent == null)
+            {
+                return;
+            }
+            if (!parent.marked)
+            {
+                parent.marked = true;
+                return;
+            }
+            node = parent;
+            parent = grandparent;
+        }
+    }
+
+    /**
+     * Removes a node from the child ring of its parent and adds it to the root ring.
+     */
+    private void cut(Node<T> node, Node<T> parent)
+    {
+        if (node.next == node)
+        {
+            parent.child = null;
+        }
+        else
+        {
+            if (parent.child == node)
+            {
+                parent.child = node.next;
+            }
+            removeFromRing(node);
+        }
+        parent.degree--;
+        node.parent = null;
+        node.marked = false;
+        joinRings(min, node);
+    }
+
+    /**
+     * Links roots of equal degree until every root has a distinct degree.
+     * The number of roots is counted first because linking removes roots from the ring
+     * being walked.
+     */
+    private void consolidate()
+    {
+        int maxDegree = 2 * (Integer.SIZE - Integer.numberOfLeadingZeros(size)) + 2;
+        if (byDegree.length < maxDegree)
+        {
+            byDegree = newArray(maxDegree);
+        }
+        int roots = 0;
+        Node<T> current = min;
+        do
+        {
+            roots++;
+            current = current.next;
+        }
+        while (current != min);
+
+        for (int i = 0; i < roots; i++)
+        {
+            Node<T> next = current.next;
+            Node<T> root = current;
+            int degree = root.degree;
+            while (byDegree[degree] != null)
+            {
+                Node<T> other = byDegree[degree];
+                if (other.key < root.key)
+                {
+                    Node<T> swap = other;
+                    other = root;
+                    root = swap;
+                }
+                link(other, root);
+                byDegree[degree] = null;
+                degree++;
+            }
+            byDegree[degree] = root;
+            current = next;
+        }
+
+        min = null;
+        for (int i = 0; i < byDegree.length; i++)
+        {
+            Node<T> root = byDegree[i];
+            if (root != null)
+            {
+                if (min == null || root.key < min.key)
+                {
+                    min = root;
+                }
+                byDegree[i] = null;
+            }
+        }
+    }
+
+    /**
+     * Makes child a child of parent; both are roots and child has the larger key.
+     */
+    private void link(Node<T> child, Node<T> parent)
+    {
+        removeFromRing(child);
+        child.next = child.previous = child;
+        child.parent = parent;
+        child.marked = false;
+        parent.child = joinRings(parent.child, child);
+        parent.degree++;
+    }
+
+    /**
+     * Joins two circular rings in O(1) and returns the node with the smaller key of a and b.
+     * Either ring may be null.
+     */
+    private static <T> Node<T> joinRings(Node<T> a, Node<T> b)
+    {
+        if (a == null)
+        {
+            return b;
+        }
+        if (b == null)
+        {
+            return a;
+        }
+        Node<T> aNext = a.next;
+        Node<T> bPrevious = b.previous;
+        a.next = b;
+        b.previous = a;
+        aNext.previous = bPrevious;
+        bPrevious.next = aNext;
+        return b.key < a.key ? b : a;
+    }
+
+    private static <T> void removeFromRing(Node<T> node)
+    {
+        node.previous.next = node.next;
+        node.next.previous = node.previous;
+        node.next = node.previous = node;
+    }
+
+    private static void checkHandle(Node<?> node)
+    {
+        if (node.removed)
+        {
+            throw new IllegalStateException("Entry was already removed: " + node);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Node<T>[] newArray(int length)
+    {
+        return (Node<T>[]) new Node<?>[length];
+    }
+
+    /**
+     * Runs Dijkstra's algorithm on a random graph with decreaseKey on the handles and checks
+     * the distances against a version that uses {@link PairingHeap}.
+     */
+    public static void main(String[] args)
+    {
+        int vertices = 10_000;
+        Random random = new Random(42);
+        List<List<int[]>> graph = new ArrayList<>();
+        for (int v = 0; v < vertices; v++)
+        {
+            graph.add(new ArrayList<>());
+        }
+        for (int e = 0; e < vertices * 8; e++)
+        {
+            int from = random.nextInt(vertices);
+            int to = random.nextInt(vertices);
+            graph.get(from).add(new int[] { to, 1 + random.nextInt(100) });
+        }
+
+        long[] distance = new long[vertices];
+        Arrays.fill(distance, Long.MAX_VALUE);
+        distance[0] = 0;
+        FibonacciHeap<Integer> heap = new FibonacciHeap<>();
+        List<Node<Integer>> handles = new ArrayList<>();
+        for (int v = 0; v < vertices; v++)
+        {
+            handles.add(heap.insert(distance[v], v));
+        }
+        int decreases = 0;
+        while (!heap.isEmpty())
+        {
+            Node<Integer> closest = heap.extractMin();
+            if (closest.getKey() == Long.MAX_VALUE)
+            {
+                break;
+            }
+            for (int[] edge : graph.get(closest.getValue()))
+            {
+                long candidate = closest.getKey() + edge[1];
+                if (candidate < distance[edge[0]])
+                {
+                    distance[edge[0]] = candidate;
+                    heap.decreaseKey(handles.get(edge[0]), candidate);
+                    decreases++;
+                }
+            }
+        }
+
+        long[] check = new long[vertices];
+        Arrays.fill(check, Long.MAX_VALUE);
+        check[0] = 0;
+        PairingHeap<Integer> pairing = new PairingHeap<>();
+        List<PairingHeap.Node<Integer>> pairingHandles = new ArrayList<>();
+        for (int v = 0; v < vertices; v++)
+        {
+            pairingHandles.add(pairing.insert(check[v], v));
+        }
+        while (!pairing.isEmpty())
+        {
+            PairingHeap.Node<Integer> closest = pairing.extractMin();
+            if (closest.getKey() == Long.MAX_VALUE)
+            {
+                break;
+            }
+            for (int[] edge : graph.get(closest.getValue()))
+            {
+                long candidate = closest.getKey() + edge[1];
+                if (candidate < check[edge[0]])
+                {
+                    check[edge[0]] = candidate;
+                    pairing.decreaseKey(pairingHandles.get(edge[0]), candidate);
+                }
+            }
+        }
+        System.out.println("Dijkstra on " + vertices + " vertices: " + decreases + " decreaseKey calls, "
+                + "distance to vertex " + (vertices - 1) + " = " + distance[vertices - 1]);
+        System.out.println("Fibonacci and pairing heap distances agree: " + Arrays.equals(distance, check));
+    }
+}
@@ -0,0 +1,333 @@
+package datastructures.heap;
+
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+/**
+ * A pairing heap: a simpler alternative to {@link FibonacciHeap} with the same interface.
+ * It is a single heap-ordered tree stored as leftmost child and sibling links; previous
+ * points to the left sibling, or to the parent for a leftmost child, so a node can be
+ * detached in O(1).
+ * - insert, merge and decreaseKey meld two trees: the root with the larger key becomes
+ *   the leftmost child of the other
+ * - extractMin removes the root and combines its children in two passes: meld them in
+ *   pairs from left to right, then meld the pairs from right to left
+ *
+ * insert, merge and decreaseKey are O(1) (decreaseKey is O(log n) amortized in the worst-case
+ * analysis but rarely slower than O(1) in practice) and extractMin is O(log n) amortized. With
+ * fewer links per node and no consolidation array, it is often faster than a Fibonacci heap.
+ *
+ * @param <T> The type of the values stored with the keys
+ */
+public class PairingHeap<T>
+{
+    /**
+     * A handle to an entry of the heap.
+     *
+     * @param <T> The type of the value
+     */
+    public static final class Node<T>
+    {
+        private long key;
+        private final T value;
+        /** Leftmost child */
+        private Node<T> child;
+        /** Right sibling */
+        private Node<T> next;
+        /** Left sibling, or the parent for a leftmost child */
+        private Node<T> previous;
+        /** true once the node was extracted or deleted */
+        private boolean removed;
+
+        private Node(long key, T value)
+        {
+            this.key = key;
+            this.value = value;
+        }
+
+        /**
+         * Returns the priority of the entry.
+         *
+         * @return The key
+         */
+        public long getKey()
+        {
+            return key;
+        }
+
+        /**
+         * Returns the value stored with the key.
+         *
+         * @return The value
+         */
+        public T getValue()
+        {
+            return value;
+        }
+
+        @Override
+        public String toString()
+        {
+            return "Node{" + "key=" + key + ", value=" + value + '}';
+        }
+    }
+
+    /** Root of the tree, or null if the heap is empty */
+    private Node<T> root;
+    /** Number of entries */
+    private int size;
+
+    /**
+     * Returns the number of entries.
+     *
+     * @return The size of the heap
+     */
+    public int size()
+    {
+        return size;
+    }
+
+    /**
+     * Checks whether the heap has no entries.
+     *
+     * @return true if the heap is empty
+     */
+    public boolean isEmpty()
+    {
+        return size == 0;
+    }
+
+    /**
+     * Adds an entry.
+     * Time Complexity: O(1)
+     *
+     * @param key The priority; smaller keys are extracted first
+     * @param value The value stored with the key
+     * @return The handle of the new entry
+     */
+    public Node<T> insert(long key, T value)
+    {
+        Node<T> node = new Node<>(key, value);
+        root = meld(root, node);
+        size++;
+        return node;
+    }
+
+    /**
+     * Returns the entry with the smallest key without removing it.
+     * Time Complexity: O(1)
+     *
+     * @return The minimum entry
+     * @throws NoSuchElementException if the heap is empty
+     */
+    public Node<T> findMin()
+    {
+        if (root == null)
+        {
+            throw new NoSuchElementException("Heap is empty");
+        }
+        return root;
+    }
+
+    /**
+     * Moves all entries of another heap into this one; the other heap becomes empty.
+     * Time Complexity: O(1)
+     *
+     * @param other The heap to merge; must not be this heap
+     */
+    public void merge(PairingHeap<T> other)
+    {
+        if (other == this)
+        {
+            throw new IllegalArgumentException("Cannot merge a heap with itself");
+        }
+        root = meld(root, other.root);
+        size += other.size;
+        other.root = null;
+        other.size = 0;
+    }
+
+    /**
+     * Removes and returns the entry with the smallest key.
+     * Time Complexity: O(log n) amortized
+     *
+     * @return The minimum entry; its handle is no longer valid for decreaseKey or delete
+     * @throws NoSuchElementException if the heap is empty
+     */
+    public Node<T> extractMin()
+    {
+        Node<T> extracted = findMin();
+        root = combineSiblings(extracted.child);
+        extracted.child = null;
+        extracted.removed = true;
+        size--;
+        return extracted;
+    }
+
+    /**
+     * Lowers the key of an entry.
+     * Time Complexity: O(1) in practice
+     *
+     * Logic: detach the node's subtree from its parent and meld it with the root;
+     * the root only needs its key updated
+     *
+     * @param node The handle returned by insert
+     * @param key The new key, not larger than the current one
+     * @throws IllegalArgumentException if the new key is larger
+     * @throws IllegalStateException if the entry was already removed
+     */
+    public void decreaseKey(Node<T> node, long key)
+    {
+        checkHandle(node);
+        if (key > node.key)
+        {
+            throw new IllegalArgumentException("New key " + key + " is larger than current key " + node.key);
+        }
+        node.key = key;
+        if (node != root)
+        {
+            detach(node);
+            root = meld(root, node);
+        }
+    }
+
+    /**
+     * Removes an entry.
+     * Time Complexity: O(log n) amortized
+     *
+     * @param node The handle returned by insert
+     * @throws IllegalStateException if the entry was already removed
+     */
+    public void delete(Node<T> node)
+    {
+        checkHandle(node);
+        if (node == root)
+        {
+            extractMin();
+            return;
+        }
+        detach(node);
+        root = meld(root, combineSiblings(node.child));
+        node.child = null;
+        node.removed = true;
+        size--;
+    }
+
+    /**
+     * Unlinks a non-root node, with its subtree, from its parent's child list.
+     */
+    private void detach(Node<T> node)
+    {
+        if (node.previous.child == node)
+        {
+            node.previous.child = node.next;
+        }
+        else
+        {
+            node.previous.next = node.next;
+        }
+        if (node.next != null)
+        {
+            node.next.previous = node.previous;
+        }
+        node.next = node.previous = null;
+    }
+
+    /**
+     * Melds two trees whose roots have no siblings; either may be null.
+     * The root with the larger key becomes the leftmost child of the other.
+     */
+    private static <T> Node<T> meld(Node<T> a, Node<T> b)
+    {
+        if (a == null)
+        {
+            return b;
+        }
+        if (b == null)
+        {
+            return a;
+        }
+        if (b.key < a.key)
+        {
+            Node<T> swap = a;
+            a = b;
+            b = swap;
+        }
+        b.next = a.child;
+        if (a.child != null)
+        {
+            a.child.previous = b;
+        }
+        b.previous = a;
+        a.child = b;
+        return a;
+    }
+
+    /**
+     * Combines a list of sibling trees into one with the two-pass method.
+     *
+     * Logic:
+     * 1. Left to right, meld the trees in pairs and push each result on a stack linked through next
+     * 2. Pop the stack, i.e. right to left, melding every pair into the result
+     */
+    private static <T> Node<T> combineSiblings(Node<T> first)
+    {
+        Node<T> stack = null;
+        while (first != null)
+        {
+            Node<T> a = first;
+            Node<T> b = a.next;
+            first = b == null ? null : b.next;
+            a.next = a.previous = null;
+            if (b != null)
+            {
+                b.next = b.previous = null;
+            }
+            Node<T> pair = meld(a, b);
+            pair.next = stack;
+            stack = pair;
+        }
+        Node<T> result = null;
+        while (stack != null)
+        {
+            Node<T> tree = stack;
+            stack = stack.next;
+            tree.next = null;
+            result = meld(result, tree);
+        }
+        return result;
+    }
+
+    private static void checkHandle(Node<?> node)
+    {
+        if (node.removed)
+        {
+            throw new IllegalStateException("Entry was already removed: " + node);
+        }
+    }
+
+    /**
+     * Sorts random keys by inserting them, lowering some of them and extracting them all.
+     */
+    public static void main(String[] args)
+    {
+        PairingHeap<String> heap = new PairingHeap<>();
+        Random random = new Random(7);
+        @SuppressWarnings("unchecked")
+        Node<String>[] handles = (Node<String>[]) new Node<?>[10];
+        for (int i = 0; i < handles.length; i++)
+        {
+            long key = random.nextInt(100);
+            handles[i] = heap.insert(key, "entry" + i);
+        }
+        heap.decreaseKey(handles[3], -1);
+        heap.delete(handles[5]);
+        StringBuilder order = new StringBuilder();
+        while (!heap.isEmpty())
+        {
+            Node<String> node = heap.extractMin();
+            order.append(node.getValue()).append('=').append(node.getKey()).append(' ');
+        }
+        System.out.println("Extracted in order: " + order.toString().trim());
+    }
+}
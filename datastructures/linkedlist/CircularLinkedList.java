@@ -1,5 +1,15 @@
 package datastructures.linkedlist;
 
+import datastructures.snapshot.ListSnapshot;
+import java.io.IOException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.OptionalInt;
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+import java.util.function.IntUnaryOperator;
+
 /**
  * Implementation of a circular linked list data structure.
  * In a circular linked list, the last node points back to the first node,
@@ -135,6 +145,7 @@ public class CircularLinkedList
      * 
      * Base cases:
      * - Empty list: prints message and returns
+     * - Single node: the list becomes empty
      * 
      * Logic:
      * 1. If list is empty, print message and return
@@ -149,6 +160,11 @@ public class CircularLinkedList
             System.out.println("List is empty");
             return;
         }
+        if (head == tail)
+        {
+            head = tail = null;
+            return;
+        }
         ListNode current = head;
         while (current.getNext() != tail)
         {
@@ -164,6 +180,7 @@ public class CircularLinkedList
      * 
      * Base cases:
      * - Empty list: prints message and returns
+     * - Single node: the list becomes empty
      * 
      * Logic:
      * 1. If list is empty, print message and return
@@ -177,6 +194,11 @@ public class CircularLinkedList
             System.out.println("List is empty");
             return;
         }
+        if (head == tail)
+        {
+            head = tail = null;
+            return;
+        }
         head = head.getNext();
         tail.setNext(head);
     }
@@ -195,6 +217,10 @@ public class CircularLinkedList
      */
     public void printList()
     {
+        if (head == null)
+        {
+            return;
+        }
         ListNode current = head;
         while (current != tail)
         {
@@ -204,6 +230,487 @@ public class CircularLinkedList
         System.out.println(current.getData());
     }
 
+    /**
+     * Removes every node whose value matches the predicate in a single pass around the circle,
+     * relinking each survivor once.
+     * Time Complexity: O(n)
+     * 
+     * @param filter Returns true for the values to remove
+     * @return The number of removed nodes
+     * 
+     * Logic: Collect the kept nodes into a chain, then close the circle from the last
+     * kept node back to the first one
+     */
+    public int removeIf(IntPredicate filter)
+    {
+        if (head == null)
+        {
+            return 0;
+        }
+        int removed = 0;
+        ListNode first = null;
+        ListNode kept = null;
+        ListNode current = head;
+        ListNode end = tail;
+        while (true)
+        {
+            ListNode next = current.getNext();
+            if (filter.test(current.getData()))
+            {
+                removed++;
+            }
+            else
+            {
+                if (kept == null)
+                {
+                    first = current;
+                }
+                else
+                {
+                    kept.setNext(current);
+                }
+                kept = current;
+            }
+            if (current == end)
+            {
+                break;
+            }
+            current = next;
+        }
+        head = first;
+        tail = kept;
+        if (kept != null)
+        {
+            kept.setNext(first);
+        }
+        return removed;
+    }
+
+    /**
+     * Passes every value to the action, from head to tail.
+     * Time Complexity: O(n)
+     * 
+     * @param action Receives each value
+     */
+    public void forEach(IntConsumer action)
+    {
+        if (head == null)
+        {
+            return;
+        }
+        ListNode current = head;
+        do
+        {
+            action.accept(current.getData());
+            current = current.getNext();
+        }
+        while (current != head);
+    }
+
+    /**
+     * Replaces every value with the result of the operator, in place.
+     * Time Complexity: O(n)
+     * 
+     * @param operator Maps each value to its replacement
+     */
+    public void replaceAll(IntUnaryOperator operator)
+    {
+        if (head == null)
+        {
+            return;
+        }
+        ListNode current = head;
+        do
+        {
+            current.setData(operator.applyAsInt(current.getData()));
+            current = current.getNext();
+        }
+        while (current != head);
+    }
+
+    /**
+     * Combines all values from head to tail: result = operator(...operator(identity, v0)..., vn-1).
+     * Time Complexity: O(n)
+     * 
+     * @param identity The initial result, returned for an empty list
+     * @param operator Combines the result so far with the next value
+     * @return The combined result
+     */
+    public int reduce(int identity, IntBinaryOperator operator)
+    {
+        int result = identity;
+        if (head == null)
+        {
+            return result;
+        }
+        ListNode current = head;
+        do
+        {
+            result = operator.applyAsInt(result, current.getData());
+            current = current.getNext();
+        }
+        while (current != head);
+        return result;
+    }
+
+    /**
+     * Adds all values without overflow for lists of up to 2^32 values.
+     * Time Complexity: O(n)
+     * 
+     * @return The sum, 0 for an empty list
+     */
+    public long sum()
+    {
+        long sum = 0;
+        if (head == null)
+        {
+            return sum;
+        }
+        ListNode current = head;
+        do
+        {
+            sum += current.getData();
+            current = current.getNext();
+        }
+        while (current != head);
+        return sum;
+    }
+
+    /**
+     * Finds the smallest value.
+     * Time Complexity: O(n)
+     * 
+     * @return The minimum, or empty for an empty list
+     */
+    public OptionalInt min()
+    {
+        if (head == null)
+        {
+            return OptionalInt.empty();
+        }
+        int min = head.getData();
+        ListNode current = head;
+        do
+        {
+            min = Math.min(min, current.getData());
+            current = current.getNext();
+        }
+        while (current != head);
+        return OptionalInt.of(min);
+    }
+
+    /**
+     * Finds the largest value.
+     * Time Complexity: O(n)
+     * 
+     * @return The maximum, or empty for an empty list
+     */
+    public OptionalInt max()
+    {
+        if (head == null)
+        {
+            return OptionalInt.empty();
+        }
+        int max = head.getData();
+        ListNode current = head;
+        do
+        {
+            max = Math.max(max, current.getData());
+            current = current.getNext();
+        }
+        while (current != head);
+        return OptionalInt.of(max);
+    }
+
+    /**
+     * Counts the values that match a predicate.
+     * Time Complexity: O(n)
+     * 
+     * @param predicate The condition to test
+     * @return The number of matching values
+     */
+    public int count(IntPredicate predicate)
+    {
+        int count = 0;
+        if (head == null)
+        {
+            return count;
+        }
+        ListNode current = head;
+        do
+        {
+            if (predicate.test(current.getData()))
+            {
+                count++;
+            }
+            current = current.getNext();
+        }
+        while (current != head);
+        return count;
+    }
+
+    /**
+     * Returns the first node, e.g. as the starting point of a range for {@link #splice}.
+     * 
+     * @return The head node, or null if the list is empty
+     */
+    public ListNode getHead()
+    {
+        return head;
+    }
+
+    /**
+     * Returns the last node, whose next is the head.
+     * 
+     * @return The tail node, or null if the list is empty
+     */
+    public ListNode getTail()
+    {
+        return tail;
+    }
+
+    /**
+     * Moves all nodes of another list to the end of this list; the other list becomes empty.
+     * Time Complexity: O(1)
+     * 
+     * @param other The list to append; must not be this list
+     * 
+     * Logic: link this tail to other's head and other's tail back to this head
+     */
+    public void concat(CircularLinkedList other)
+    {
+        if (other == this)
+        {
+            throw new IllegalArgumentException("Cannot concatenate a list with itself");
+        }
+        if (other.head == null)
+        {
+            return;
+        }
+        if (head == null)
+        {
+            head = other.head;
+        }
+        else
+        {
+            tail.setNext(other.head);
+        }
+        tail = other.tail;
+        tail.setNext(head);
+        other.head = other.tail = null;
+    }
+
+    /**
+     * Moves a range of nodes of source into this list right after a node.
+     * Nodes only link forward, so the range is given by the node before it: the range is
+     * beforeFirst.next up to last, in head-to-tail order (pass source's tail as beforeFirst
+     * for a range starting at the head).
+     * Time Complexity: O(1)
+     * 
+     * @param after The node of this list to insert after, or null to insert at the head
+     * @param source The list holding the range; may be this list if after is outside the range
+     * @param beforeFirst The node preceding the range in source
+     * @param last The last node of the range
+     * 
+     * Logic:
+     * 1. Unlink the range from source by linking beforeFirst to the node after last,
+     *    fixing source's head and tail if the range touches them
+     * 2. Link it between after and after's successor, keeping tail.next == head
+     */
+    public void splice(ListNode after, CircularLinkedList source, ListNode beforeFirst, ListNode last)
+    {
+        ListNode first = beforeFirst.getNext();
+        if (first == source.head && last == source.tail)
+        {
+            source.head = source.tail = null;
+        }
+        else
+        {
+            beforeFirst.setNext(last.getNext());
+            if (first == source.head)
+            {
+                source.head = last.getNext();
+            }
+            if (last == source.tail)
+            {
+                source.tail = beforeFirst;
+            }
+        }
+
+        if (head == null)
+        {
+            head = first;
+            tail = last;
+        }
+        else if (after == null)
+        {
+            last.setNext(head);
+            head = first;
+        }
+        else
+        {
+            last.setNext(after.getNext());
+            after.setNext(first);
+            if (after == tail)
+            {
+                tail = last;
+            }
+        }
+        tail.setNext(head);
+    }
+
+    /**
+     * Splits the list after a node: everything after it moves to a new list,
+     * and this list keeps the head up to the node.
+     * Time Complexity: O(1)
+     * 
+     * @param node The last node to keep; must belong to this list
+     * @return The list holding the nodes after node (empty if node is the tail)
+     */
+    public CircularLinkedList splitAfter(ListNode node)
+    {
+        CircularLinkedList second = new CircularLinkedList();
+        if (node == tail)
+        {
+            return second;
+        }
+        second.head = node.getNext();
+        second.tail = tail;
+        second.tail.setNext(second.head);
+        tail = node;
+        tail.setNext(head);
+        return second;
+    }
+
+    /**
+     * Reverses a range of nodes in place. As in {@link #splice}, the range is beforeFirst.next
+     * up to last, following next pointers; it may wrap past the tail to the head, and it may be
+     * the whole cycle (last == beforeFirst). The positions keep their places: the node at the
+     * i-th position of the range ends up at the (k-1-i)-th, so head and tail are the nodes that
+     * moved into their positions.
+     * Time Complexity: O(k) for a range of k nodes
+     * 
+     * @param beforeFirst The node preceding the range
+     * @param last The last node of the range
+     * 
+     * Base case: The range is the whole cycle, so there is no node outside it to link to
+     * 
+     * Logic:
+     * 1. Point every node of the range at its predecessor; the old first node points at
+     *    the node after the range. Note where the head and the tail were in the range
+     * 2. Link beforeFirst to the old last node
+     * 3. A head or tail that was at position i of the range is replaced by the node now there,
+     *    found by walking i steps from the old last node
+     */
+    public void reverseRange(ListNode beforeFirst, ListNode last)
+    {
+        ListNode first = beforeFirst.getNext();
+        boolean whole = last.getNext() == first;
+        ListNode previous = whole ? last : last.getNext();
+        ListNode current = first;
+        int headIndex = -1;
+        int tailIndex = -1;
+        int index = 0;
+        do
+        {
+            if (current == head)
+            {
+                headIndex = index;
+            }
+            if (current == tail)
+            {
+                tailIndex = index;
+            }
+            ListNode next = current.getNext();
+            current.setNext(previous);
+            previous = current;
+            current = next;
+            index++;
+        }
+        while (previous != last);
+        if (!whole)
+        {
+            beforeFirst.setNext(last);
+        }
+        if (headIndex >= 0)
+        {
+            head = nodeAfter(last, headIndex);
+        }
+        if (tailIndex >= 0)
+        {
+            tail = nodeAfter(last, tailIndex);
+        }
+    }
+
+    /**
+     * Returns the node steps links after node.
+     */
+    private static ListNode nodeAfter(ListNode node, int steps)
+    {
+        for (int i = 0; i < steps; i++)
+        {
+            node = node.getNext();
+        }
+        return node;
+    }
+
+    /**
+     * Writes the list from head to tail in the {@link ListSnapshot} binary format.
+     * Time Complexity: O(n)
+     * 
+     * @param channel The destination; it is not closed
+     * @param checksums true to protect every block with a CRC32
+     * @throws IOException if the channel cannot be written
+     */
+    public void writeTo(WritableByteChannel channel, boolean checksums) throws IOException
+    {
+        ListSnapshot.Writer writer = new ListSnapshot.Writer(channel, checksums);
+        if (head != null)
+        {
+            ListNode current = head;
+            do
+            {
+                writer.write(current.getData());
+                current = current.getNext();
+            }
+            while (current != head);
+        }
+        writer.finish();
+    }
+
+    /**
+     * Rebuilds a list from a snapshot written by {@link #writeTo}.
+     * Time Complexity: O(n)
+     * 
+     * @param channel The source, positioned at the snapshot; it is not closed
+     * @return The restored list
+     * @throws IOException if the snapshot is truncated, corrupt or of another version
+     * 
+     * Logic: link each value after the tail, then close the circle once at the end
+     */
+    public static CircularLinkedList readFrom(ReadableByteChannel channel) throws IOException
+    {
+        CircularLinkedList list = new CircularLinkedList();
+        ListSnapshot.read(channel, value ->
+        {
+            ListNode node = new ListNode(value);
+            if (list.tail == null)
+            {
+                list.head = node;
+            }
+            else
+            {
+                list.tail.setNext(node);
+            }
+            list.tail = node;
+        });
+        if (list.tail != null)
+        {
+            list.tail.setNext(list.head);
+        }
+        return list;
+    }
+
     /**
      * Demonstrates basic circular linked list operations.
      * Creates a list and performs various insertions to show
@@ -222,5 +729,25 @@ public class CircularLinkedList
         list.deleteAtTail();
         list.printList();
         System.out.println(list.length());
+
+        CircularLinkedList other = new CircularLinkedList();
+        other.insertAtTail(6);
+        other.insertAtTail(7);
+        list.concat(other);
+        list.printList();
+        list.reverseRange(list.getTail(), list.getHead().getNext().getNext());
+        list.printList();
+        // A range that wraps from the tail over to the head: the last two and the first two
+        list.reverseRange(list.getHead().getNext().getNext().getNext(), list.getHead().getNext());
+        list.printList();
+        CircularLinkedList second = list.splitAfter(list.getHead().getNext());
+        list.printList();
+        second.printList();
+        list.splice(list.getTail(), second, second.getTail(), second.getHead());
+        list.printList();
+        second.printList();
+        list.removeIf(value -> value > 5);
+        list.forEach(value -> System.out.print(value + " "));
+        System.out.println("sum " + list.sum());
     }
 }
@@ -1,21 +1,39 @@
 package datastructures.linkedlist;
 
+import datastructures.snapshot.ListSnapshot;
+import java.io.IOException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.OptionalInt;
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+import java.util.function.IntUnaryOperator;
+
 /**
  * Implementation of a singly linked list data structure.
  * This class provides methods for basic linked list operations including:
  * - Insertion (at head, tail, and any position)
  * - Deletion (from head, tail, and any position)
- * - Searching
+ * - Searching (contains, indexOf) and removal by value
  * - Length calculation
  * - List traversal
  * 
  * The list maintains a reference to the head node and provides both
  * single-pointer and two-pointer implementations for some operations.
+ * 
+ * Searching walks the list by default. {@link #setIndexEnabled(boolean)} trades memory
+ * for speed: it maintains a {@link ValueIndex} that maps every value to its nodes and their
+ * predecessors, which makes contains O(1) expected, and removeValue too for a value held by a
+ * single node. Every insert and delete keeps the index up to date, so it costs O(1) extra work
+ * per operation, however often a value is repeated, and about eight array slots per node.
  */
 public class LinkedList
 {
     /** Reference to the first node in the list */
     private ListNode head;
+    /** Index from values to nodes, or null when searching walks the list */
+    private ValueIndex index;
 
     /**
      * Creates an empty linked list.
@@ -60,6 +78,7 @@ public class LinkedList
         ListNode newNode = new ListNode(data);
         newNode.setNext(head);
         head = newNode;
+        indexInserted(newNode, null);
     }
 
     /**
@@ -77,6 +96,7 @@ public class LinkedList
         if (head == null)
         {
             head = newNode;
+            indexInserted(newNode, null);
             return;
         }
         ListNode current = head;
@@ -85,6 +105,7 @@ public class LinkedList
             current = current.getNext();
         }
         current.setNext(newNode);
+        indexInserted(newNode, current);
     }
 
     /**
@@ -106,12 +127,12 @@ public class LinkedList
             System.out.println("Invalid position");
             return;
         }
-        ListNode newNode = new ListNode(data);
         if (position == 0)
         {
-            head = newNode;
+            insertAtHead(data);
             return;
         }
+        ListNode newNode = new ListNode(data);
         ListNode current = head;
         int i = 0;
         while (i < position - 1)
@@ -121,6 +142,7 @@ public class LinkedList
         }
         newNode.setNext(current.getNext());
         current.setNext(newNode);
+        indexInserted(newNode, current);
     }
 
     /**
@@ -137,7 +159,9 @@ public class LinkedList
             System.out.println("List is empty");
             return;
         }
+        ListNode removed = head;
         head = head.getNext();
+        indexRemoved(removed, null);
     }
 
     /**
@@ -158,6 +182,7 @@ public class LinkedList
         }
         if (head.getNext() == null)
         {
+            indexRemoved(head, null);
             head = null;
             return;
         }
@@ -166,6 +191,7 @@ public class LinkedList
         {
             current = current.getNext();
         }
+        indexRemoved(current.getNext(), current);
         current.setNext(null);
     }
 
@@ -187,6 +213,7 @@ public class LinkedList
         }
         if (head.getNext() == null)
         {
+            indexRemoved(head, null);
             head = null;
             return;
         }
@@ -198,6 +225,7 @@ public class LinkedList
             current = current.getNext();
         }
         previous.setNext(null);
+        indexRemoved(current, previous);
     }
 
     /**
@@ -220,7 +248,7 @@ public class LinkedList
         }
         if (position == 0)
         {
-            head = head.getNext();
+            deleteAtHead();
             return;
         }
         ListNode current = head;
@@ -230,7 +258,9 @@ public class LinkedList
             current = current.getNext();
             i++;
         }
-        current.setNext(current.getNext().getNext());
+        ListNode removed = current.getNext();
+        current.setNext(removed.getNext());
+        indexRemoved(removed, current);
     }
 
     /**
@@ -253,7 +283,7 @@ public class LinkedList
         }
         if (position == 0)
         {
-            head = head.getNext();
+            deleteAtHead();
             return;
         }
         ListNode current = head;
@@ -266,6 +296,373 @@ public class LinkedList
             i++;
         }
         previous.setNext(current.getNext());
+        indexRemoved(current, previous);
+    }
+
+    /**
+     * Turns the value index on or off. Enabling it indexes every node in one pass;
+     * disabling it releases the index and search falls back to walking the list.
+     * Time Complexity: O(n) to enable, O(1) to disable
+     * 
+     * @param enabled true to maintain the index
+     */
+    public void setIndexEnabled(boolean enabled)
+    {
+        if (!enabled)
+        {
+            index = null;
+            return;
+        }
+        if (index != null)
+        {
+            return;
+        }
+        index = new ValueIndex();
+        ListNode previous = null;
+        ListNode current = head;
+        while (current != null)
+        {
+            index.add(current, previous);
+            previous = current;
+            current = current.getNext();
+        }
+    }
+
+    /**
+     * Checks whether the value index is maintained.
+     * 
+     * @return true if the index is enabled
+     */
+    public boolean isIndexEnabled()
+    {
+        return index != null;
+    }
+
+    /**
+     * Checks whether the list contains a value.
+     * Time Complexity: O(1) expected with the index, O(n) without
+     * 
+     * @param value The value to search for
+     * @return true if some node holds the value
+     */
+    public boolean contains(int value)
+    {
+        if (index != null)
+        {
+            return index.find(value) >= 0;
+        }
+        ListNode current = head;
+        while (current != null)
+        {
+            if (current.getData() == value)
+            {
+                return true;
+            }
+            current = current.getNext();
+        }
+        return false;
+    }
+
+    /**
+     * Returns the position of the first node holding a value.
+     * Time Complexity: O(1) expected for an absent value with the index; otherwise O(p)
+     * for a value first found at position p, since positions are not indexed
+     * 
+     * @param value The value to search for
+     * @return The 0-based position, or -1 if the value is not in the list
+     */
+    public int indexOf(int value)
+    {
+        if (index != null && index.find(value) < 0)
+        {
+            return -1;
+        }
+        int position = 0;
+        ListNode current = head;
+        while (current != null)
+        {
+            if (current.getData() == value)
+            {
+                return position;
+            }
+            position++;
+            current = current.getNext();
+        }
+        return -1;
+    }
+
+    /**
+     * Removes the first node holding a value, with or without the index.
+     * Time Complexity: O(1) expected with the index for an absent value or one held by a single
+     * node; otherwise O(p) for a value first found at position p, since positions are not indexed
+     * 
+     * @param value The value to remove
+     * @return true if a node was removed
+     * 
+     * Logic: The index stores each node's predecessor, so a value held by exactly one node
+     * is unlinked without walking to it. A repeated value is searched from the head, so the
+     * removed node does not depend on whether the index is enabled.
+     */
+    public boolean removeValue(int value)
+    {
+        ListNode previous = null;
+        ListNode current;
+        if (index != null && index.count(value) <= 1)
+        {
+            int entry = index.find(value);
+            if (entry < 0)
+            {
+                return false;
+            }
+            current = index.nodeAt(entry);
+            previous = index.predecessorAt(entry);
+        }
+        else
+        {
+            current = head;
+            while (current != null && current.getData() != value)
+            {
+                previous = current;
+                current = current.getNext();
+            }
+            if (current == null)
+            {
+                return false;
+            }
+        }
+        if (previous == null)
+        {
+            head = current.getNext();
+        }
+        else
+        {
+            previous.setNext(current.getNext());
+        }
+        indexRemoved(current, previous);
+        return true;
+    }
+
+    /**
+     * Adds a node that was just linked after predecessor (null for the head) to the index,
+     * and records it as the predecessor of its successor.
+     */
+    private void indexInserted(ListNode node, ListNode predecessor)
+    {
+        if (index == null)
+        {
+            return;
+        }
+        index.add(node, predecessor);
+        if (node.getNext() != null)
+        {
+            index.setPredecessor(node.getNext(), node);
+        }
+    }
+
+    /**
+     * Removes a node that was just unlinked after predecessor (null for the head) from the index;
+     * its old successor now follows predecessor.
+     */
+    private void indexRemoved(ListNode node, ListNode predecessor)
+    {
+        if (index == null)
+        {
+            return;
+        }
+        index.remove(node);
+        if (node.getNext() != null)
+        {
+            index.setPredecessor(node.getNext(), predecessor);
+        }
+    }
+
+    /**
+     * Removes every node whose value matches the predicate in a single pass, relinking
+     * each survivor once instead of calling deleteAtPosition per match.
+     * Time Complexity: O(n)
+     * 
+     * @param filter Returns true for the values to remove
+     * @return The number of removed nodes
+     * 
+     * Logic: Walk with a pointer to the last kept node and link it past every removed one
+     */
+    public int removeIf(IntPredicate filter)
+    {
+        int removed = 0;
+        ListNode previous = null;
+        ListNode current = head;
+        while (current != null)
+        {
+            ListNode next = current.getNext();
+            if (filter.test(current.getData()))
+            {
+                if (previous == null)
+                {
+                    head = next;
+                }
+                else
+                {
+                    previous.setNext(next);
+                }
+                indexRemoved(current, previous);
+                removed++;
+            }
+            else
+            {
+                previous = current;
+            }
+            current = next;
+        }
+        return removed;
+    }
+
+    /**
+     * Passes every value to the action, from head to tail.
+     * Time Complexity: O(n)
+     * 
+     * @param action Receives each value
+     */
+    public void forEach(IntConsumer action)
+    {
+        ListNode current = head;
+        while (current != null)
+        {
+            action.accept(current.getData());
+            current = current.getNext();
+        }
+    }
+
+    /**
+     * Replaces every value with the result of the operator, in place.
+     * Changed values are moved to their new slots in the value index.
+     * Time Complexity: O(n)
+     * 
+     * @param operator Maps each value to its replacement
+     */
+    public void replaceAll(IntUnaryOperator operator)
+    {
+        ListNode previous = null;
+        ListNode current = head;
+        while (current != null)
+        {
+            int value = operator.applyAsInt(current.getData());
+            if (index != null && value != current.getData())
+            {
+                index.remove(current);
+                current.setData(value);
+                index.add(current, previous);
+            }
+            else
+            {
+                current.setData(value);
+            }
+            previous = current;
+            current = current.getNext();
+        }
+    }
+
+    /**
+     * Combines all values from head to tail: result = operator(...operator(identity, v0)..., vn-1).
+     * Time Complexity: O(n)
+     * 
+     * @param identity The initial result, returned for an empty list
+     * @param operator Combines the result so far with the next value
+     * @return The combined result
+     */
+    public int reduce(int identity, IntBinaryOperator operator)
+    {
+        int result = identity;
+        ListNode current = head;
+        while (current != null)
+        {
+            result = operator.applyAsInt(result, current.getData());
+            current = current.getNext();
+        }
+        return result;
+    }
+
+    /**
+     * Adds all values without overflow for lists of up to 2^32 values.
+     * Time Complexity: O(n)
+     * 
+     * @return The sum, 0 for an empty list
+     */
+    public long sum()
+    {
+        long sum = 0;
+        ListNode current = head;
+        while (current != null)
+        {
+            sum += current.getData();
+            current = current.getNext();
+        }
+        return sum;
+    }
+
+    /**
+     * Finds the smallest value.
+     * Time Complexity: O(n)
+     * 
+     * @return The minimum, or empty for an empty list
+     */
+    public OptionalInt min()
+    {
+        if (head == null)
+        {
+            return OptionalInt.empty();
+        }
+        int min = head.getData();
+        ListNode current = head;
+        while (current != null)
+        {
+            min = Math.min(min, current.getData());
+            current = current.getNext();
+        }
+        return OptionalInt.of(min);
+    }
+
+    /**
+     * Finds the largest value.
+     * Time Complexity: O(n)
+     * 
+     * @return The maximum, or empty for an empty list
+     */
+    public OptionalInt max()
+    {
+        if (head == null)
+        {
+            return OptionalInt.empty();
+        }
+        int max = head.getData();
+        ListNode current = head;
+        while (current != null)
+        {
+            max = Math.max(max, current.getData());
+            current = current.getNext();
+        }
+        return OptionalInt.of(max);
+    }
+
+    /**
+     * Counts the values that match a predicate.
+     * Time Complexity: O(n)
+     * 
+     * @param predicate The condition to test
+     * @return The number of matching values
+     */
+    public int count(IntPredicate predicate)
+    {
+        int count = 0;
+        ListNode current = head;
+        while (current != null)
+        {
+            if (predicate.test(current.getData()))
+            {
+                count++;
+            }
+            current = current.getNext();
+        }
+        return count;
     }
 
     /**
@@ -283,6 +680,57 @@ public class LinkedList
         System.out.println("null");
     }
 
+    /**
+     * Writes the list from head to tail in the {@link ListSnapshot} binary format.
+     * Time Complexity: O(n)
+     * 
+     * @param channel The destination; it is not closed
+     * @param checksums true to protect every block with a CRC32
+     * @throws IOException if the channel cannot be written
+     */
+    public void writeTo(WritableByteChannel channel, boolean checksums) throws IOException
+    {
+        ListSnapshot.Writer writer = new ListSnapshot.Writer(channel, checksums);
+        ListNode current = head;
+        while (current != null)
+        {
+            writer.write(current.getData());
+            current = current.getNext();
+        }
+        writer.finish();
+    }
+
+    /**
+     * Rebuilds a list from a snapshot written by {@link #writeTo}.
+     * Time Complexity: O(n)
+     * 
+     * @param channel The source, positioned at the snapshot; it is not closed
+     * @return The restored list
+     * @throws IOException if the snapshot is truncated, corrupt or of another version
+     * 
+     * Logic: keep a reference to the last node so each value is linked in O(1),
+     * instead of insertAtTail, which walks the whole list for every value
+     */
+    public static LinkedList readFrom(ReadableByteChannel channel) throws IOException
+    {
+        LinkedList list = new LinkedList();
+        ListNode[] last = new ListNode[1];
+        ListSnapshot.read(channel, value ->
+        {
+            ListNode node = new ListNode(value);
+            if (last[0] == null)
+            {
+                list.head = node;
+            }
+            else
+            {
+                last[0].setNext(node);
+            }
+            last[0] = node;
+        });
+        return list;
+    }
+
     public static void main(String[] args)
     {
         LinkedList list = new LinkedList();
@@ -304,6 +752,23 @@ public class LinkedList
         list.deleteAtTailTwoPointers();
         list.printList();
 
+        list.setIndexEnabled(true);
+        list.insertAtPosition(8, 0);
+        System.out.println("contains(7): " + list.contains(7) + ", indexOf(7): " + list.indexOf(7)
+                + ", contains(42): " + list.contains(42));
+        list.removeValue(7);
+        list.printList();
+        // 8 is now both the head and the tail; the index finds both, and the head goes first
+        list.insertAtTail(8);
+        list.removeValue(8);
+        System.out.println("After adding 8 at the tail and removing one 8:");
+        list.printList();
+
+        list.replaceAll(value -> value * 10);
+        int removed = list.removeIf(value -> value > 30);
+        System.out.println("Removed " + removed + " values above 30, sum " + list.sum() + ", max " + list.max()
+                + ", even values " + list.count(value -> value % 2 == 0));
+        list.printList();
     }
 
 }
@@ -0,0 +1,762 @@
+package datastructures.linkedlist;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.function.IntConsumer;
+
+/**
+ * A list with the API of {@link LinkedList} that can grow beyond the heap.
+ * Values are stored in segments of up to segmentSize ints, and the segments form a doubly
+ * linked chain:
+ * - The head and tail segments are always on the heap, so operations at both ends never touch disk
+ * - Middle segments stay on the heap while they fit in the memory budget; beyond it, the least
+ *   recently used middle segment is written to its own file in the spill directory and its array
+ *   is released
+ * - A spilled segment is paged back in when an operation or a traversal reaches it, which may
+ *   spill another one
+ * - A positional deletion that leaves a segment under half full merges it with a neighbour that
+ *   is under half full too, so deletions cannot leave a long chain of nearly empty segments
+ *
+ * The budget only counts segment arrays; the chain itself costs a few dozen bytes per segment.
+ * Segments that were paged in and not modified are dropped without being rewritten. Failed disk
+ * operations are reported as UncheckedIOException, since the list API does not declare IOException.
+ * Call {@link #close()} to delete the spill files.
+ */
+public class SpillableLinkedList implements Closeable
+{
+    /** Default number of values per segment */
+    public static final int DEFAULT_SEGMENT_SIZE = 4096;
+
+    /**
+     * A run of consecutive values; values[start, end) holds them while resident.
+     */
+    private static final class Segment
+    {
+        int[] values;
+        int start;
+        int end;
+        Segment next;
+        Segment previous;
+        /** Spill file, created the first time the segment is spilled */
+        Path file;
+        /** true if the file does not match the values */
+        boolean dirty = true;
+
+        int count()
+        {
+            return end - start;
+        }
+    }
+
+    /** Capacity of every segment */
+    private final int segmentSize;
+    /** Number of middle segments that may stay on the heap */
+    private final int residentMiddleLimit;
+    /** Directory holding the spill files */
+    private final Path spillDirectory;
+    /** Resident middle segments, least recently used first */
+    private final LinkedHashMap<Segment, Boolean> lru = new LinkedHashMap<>(16, 0.75f, true);
+    /** Buffer used to transfer a segment to or from its file */
+    private final ByteBuffer transfer;
+
+    private Segment head;
+    private Segment tail;
+    /** Total number of values */
+    private long size;
+    /** Number of segments in the chain */
+    private int segments;
+    /** Number of segments currently spilled */
+    private int spilled;
+    /** An array released by the last spill, reused by the next page-in */
+    private int[] spare;
+    /** Position of the first value of the segment returned by the last locate() call */
+    private long offset;
+
+    /**
+     * Creates an empty list with the default segment size.
+     *
+     * @param memoryBudgetBytes The heap to spend on values before spilling
+     * @param spillDirectory Where spill files are created
+     */
+    public SpillableLinkedList(long memoryBudgetBytes, Path spillDirectory)
+    {
+        this(memoryBudgetBytes, spillDirectory, DEFAULT_SEGMENT_SIZE);
+    }
+
+    /**
+     * Creates an empty list.
+     * The budget always allows the head, the tail and two middle segments, the most a split needs.
+     *
+     * @param memoryBudgetBytes The heap to spend on values before spilling
+     * @param spillDirectory Where spill files are created
+     * @param segmentSize The number of values per segment (>= 2)
+     */
+    public SpillableLinkedList(long memoryBudgetBytes, Path spillDirectory, int segmentSize)
+    {
+        if (segmentSize < 2)
+        {
+            throw new IllegalArgumentException("Segment size must be at least 2: " + segmentSize);
+        }
+        this.segmentSize = segmentSize;
+        this.spillDirectory = spillDirectory;
+        long budgetSegments = memoryBudgetBytes / ((long) segmentSize * Integer.BYTES);
+        this.residentMiddleLimit = (int) Math.max(2, Math.min(Integer.MAX_VALUE, budgetSegments - 2));
+        this.transfer = ByteBuffer.allocateDirect(segmentSize * Integer.BYTES);
+    }
+
+    /**
+     * Returns the number of values.
+     *
+     * @return The size of the list
+     */
+    public long size()
+    {
+        return size;
+    }
+
+    /**
+     * Returns the number of values, as {@link LinkedList#length()} does.
+     * Time Complexity: O(1)
+     *
+     * @return The number of values
+     * @throws ArithmeticException if the list holds more than Integer.MAX_VALUE values
+     */
+    public int length()
+    {
+        return Math.toIntExact(size);
+    }
+
+    /**
+     * Returns the number of segments currently written to disk.
+     *
+     * @return The spilled segment count
+     */
+    public int spilledSegments()
+    {
+        return spilled;
+    }
+
+    /**
+     * Returns the number of segments on the heap.
+     *
+     * @return The resident segment count
+     */
+    public int residentSegments()
+    {
+        return segments - spilled;
+    }
+
+    /**
+     * Inserts a value at the beginning of the list.
+     * Time Complexity: O(1) amortized
+     *
+     * @param data The value to insert
+     */
+    public void insertAtHead(int data)
+    {
+        if (head == null || head.start == 0)
+        {
+            Segment segment = newSegment(segmentSize);
+            linkBefore(segment, head);
+        }
+        head.values[--head.start] = data;
+        head.dirty = true;
+        size++;
+    }
+
+    /**
+     * Inserts a value at the end of the list.
+     * Time Complexity: O(1) amortized
+     *
+     * @param data The value to insert
+     */
+    public void insertAtTail(int data)
+    {
+        if (tail == null || tail.end == segmentSize)
+        {
+            Segment segment = newSegment(0);
+            linkBefore(segment, null);
+        }
+        tail.values[tail.end++] = data;
+        tail.dirty = true;
+        size++;
+    }
+
+    /**
+     * Inserts a value at the given position.
+     * Time Complexity: O(n / segmentSize + segmentSize), plus one page-in if the segment is spilled
+     *
+     * @param data The value to insert
+     * @param position The position at which to insert (0-based indexing)
+     *
+     * Base cases:
+     * - Invalid position (< 0 or > length)
+     * - Insertion at either end
+     * Logic:
+     * 1. Find the segment holding the position and page it in
+     * 2. Shift the values after the position right, or the ones before it left,
+     *    whichever side has room
+     * 3. If the segment is full, split it in two and insert into the correct half
+     */
+    public void insertAtPosition(int data, long position)
+    {
+        if (position < 0 || position > size)
+        {
+            System.out.println("Invalid position");
+            return;
+        }
+        if (position == 0)
+        {
+            insertAtHead(data);
+            return;
+        }
+        if (position == size)
+        {
+            insertAtTail(data);
+            return;
+        }
+        Segment segment = locate(position);
+        int index = segment.start + (int) (position - offset);
+        if (segment.start == 0 && segment.end == segmentSize)
+        {
+            Segment upper = split(segment);
+            if (index >= segment.end)
+            {
+                index = index - segment.end;
+                segment = upper;
+            }
+        }
+        if (segment.end < segmentSize)
+        {
+            System.arraycopy(segment.values, index, segment.values, index + 1, segment.end - index);
+            segment.end++;
+        }
+        else
+        {
+            System.arraycopy(segment.values, segment.start, segment.values, segment.start - 1, index - segment.start);
+            segment.start--;
+            index--;
+        }
+        segment.values[index] = data;
+        segment.dirty = true;
+        size++;
+    }
+
+    /**
+     * Deletes the first value.
+     * Time Complexity: O(1) amortized
+     *
+     * Base case: Empty list
+     */
+    public void deleteAtHead()
+    {
+        if (head == null)
+        {
+            System.out.println("List is empty");
+            return;
+        }
+        head.start++;
+        head.dirty = true;
+        size--;
+        if (head.count() == 0)
+        {
+            unlink(head);
+        }
+    }
+
+    /**
+     * Deletes the last value.
+     * Time Complexity: O(1) amortized
+     *
+     * Base case: Empty list
+     */
+    public void deleteAtTail()
+    {
+        if (tail == null)
+        {
+            System.out.println("List is empty");
+            return;
+        }
+        tail.end--;
+        tail.dirty = true;
+        size--;
+        if (tail.count() == 0)
+        {
+            unlink(tail);
+        }
+    }
+
+    /**
+     * Deletes the value at the given position.
+     * Time Complexity: O(n / segmentSize + segmentSize), plus up to two page-ins if the segment or
+     * its neighbour is spilled
+     *
+     * @param position The position to delete (0-based indexing)
+     *
+     * Base cases:
+     * - Empty list
+     * - Invalid position (< 0 or >= length)
+     * Logic:
+     * 1. Find the segment holding the position and page it in
+     * 2. Shift the values after the position left
+     * 3. Unlink the segment if it became empty, otherwise merge it with a neighbour if both are
+     *    under half full
+     */
+    public void deleteAtPosition(long position)
+    {
+        if (head == null)
+        {
+            System.out.println("List is empty");
+            return;
+        }
+        if (position < 0 || position >= size)
+        {
+            System.out.println("Invalid position");
+            return;
+        }
+        Segment segment = locate(position);
+        int index = segment.start + (int) (position - offset);
+        System.arraycopy(segment.values, index + 1, segment.values, index, segment.end - index - 1);
+        segment.end--;
+        segment.dirty = true;
+        size--;
+        if (segment.count() == 0)
+        {
+            unlink(segment);
+        }
+        else
+        {
+            mergeIfSparse(segment);
+        }
+    }
+
+    /**
+     * Returns the value at the given position.
+     * Time Complexity: O(n / segmentSize), plus one page-in if the segment is spilled
+     *
+     * @param position The position to read (0 <= position < size)
+     * @return The value
+     */
+    public int get(long position)
+    {
+        if (position < 0 || position >= size)
+        {
+            throw new IndexOutOfBoundsException("Position " + position + " out of bounds for size " + size);
+        }
+        Segment segment = locate(position);
+        return segment.values[segment.start + (int) (position - offset)];
+    }
+
+    /**
+     * Passes every value to the action from head to tail, paging spilled segments in on the way.
+     * Time Complexity: O(n)
+     *
+     * @param action Receives each value
+     */
+    public void forEach(IntConsumer action)
+    {
+        for (Segment segment = head; segment != null; segment = segment.next)
+        {
+            makeResident(segment);
+            int[] values = segment.values;
+            for (int i = segment.start; i < segment.end; i++)
+            {
+                action.accept(values[i]);
+            }
+        }
+    }
+
+    /**
+     * Prints all elements in the list.
+     * Format: value1 -> value2 -> ... -> valueN -> null
+     *
+     * Each segment is printed as soon as it is paged in, so the output buffer holds at most
+     * one segment instead of the whole list.
+     */
+    public void printList()
+    {
+        StringBuilder line = new StringBuilder();
+        for (Segment segment = head; segment != null; segment = segment.next)
+        {
+            makeResident(segment);
+            for (int i = segment.start; i < segment.end; i++)
+            {
+                line.append(segment.values[i]).append(" -> ");
+            }
+            System.out.print(line);
+            line.setLength(0);
+        }
+        System.out.println("null");
+    }
+
+    /**
+     * Removes all values and deletes the spill files. The list can be used again afterwards.
+     *
+     * @throws IOException if a spill file cannot be deleted
+     */
+    @Override
+    public void close() throws IOException
+    {
+        for (Segment segment = head; segment != null; segment = segment.next)
+        {
+            if (segment.file != null)
+            {
+                Files.deleteIfExists(segment.file);
+            }
+        }
+        head = tail = null;
+        lru.clear();
+        size = 0;
+        segments = 0;
+        spilled = 0;
+        spare = null;
+    }
+
+    /**
+     * Finds the segment holding a valid position, walking from the nearer end, and pages it in.
+     * Sets offset to the position of the segment's first value.
+     */
+    private Segment locate(long position)
+    {
+        Segment segment;
+        if (position < size / 2)
+        {
+            segment = head;
+            long first = 0;
+            while (position >= first + segment.count())
+            {
+                first += segment.count();
+                segment = segment.next;
+            }
+            offset = first;
+        }
+        else
+        {
+            segment = tail;
+            long first = size - segment.count();
+            while (position < first)
+            {
+                segment = segment.previous;
+                first -= segment.count();
+            }
+            offset = first;
+        }
+        makeResident(segment);
+        return segment;
+    }
+
+    /**
+     * Moves the upper half of a full segment into a new segment linked after it.
+     */
+    private Segment split(Segment segment)
+    {
+        Segment upper = newSegment(0);
+        int half = segment.count() / 2;
+        System.arraycopy(segment.values, segment.end - half, upper.values, 0, half);
+        upper.end = half;
+        segment.end -= half;
+        segment.dirty = true;
+        linkBefore(upper, segment.next);
+        return upper;
+    }
+
+    /**
+     * Merges a segment that is under half full with its next or previous segment if that one is
+     * under half full too; the values fit in one array since together they are fewer than
+     * segmentSize. The right segment of the pair is emptied into the left one and unlinked.
+     */
+    private void mergeIfSparse(Segment segment)
+    {
+        int half = segmentSize / 2;
+        if (segment.count() >= half)
+        {
+            return;
+        }
+        Segment left;
+        Segment right;
+        if (segment.next != null && segment.next.count() < half)
+        {
+            left = segment;
+            right = segment.next;
+        }
+        else if (segment.previous != null && segment.previous.count() < half)
+        {
+            left = segment.previous;
+            right = segment;
+        }
+        else
+        {
+            return;
+        }
+        makeResident(left);
+        makeResident(right);
+        if (left.end + right.count() > segmentSize)
+        {
+            System.arraycopy(left.values, left.start, left.values, 0, left.count());
+            left.end -= left.start;
+            left.start = 0;
+        }
+        System.arraycopy(right.values, right.start, left.values, left.end, right.count());
+        left.end += right.count();
+        left.dirty = true;
+        right.end = right.start;
+        unlink(right);
+    }
+
+    /**
+     * Creates a resident, unlinked segment whose start and end are both at the given index.
+     */
+    private Segment newSegment(int index)
+    {
+        Segment segment = new Segment();
+        segment.values = takeArray();
+        segment.start = segment.end = index;
+        return segment;
+    }
+
+    /**
+     * Links a resident segment before successor, or at the end if successor is null.
+     * A former head or tail becomes a middle segment and enters the LRU.
+     */
+    private void linkBefore(Segment segment, Segment successor)
+    {
+        Segment predecessor = successor == null ? tail : successor.previous;
+        segment.previous = predecessor;
+        segment.next = successor;
+        if (predecessor == null)
+        {
+            head = segment;
+        }
+        else
+        {
+            predecessor.next = segment;
+        }
+        if (successor == null)
+        {
+            tail = segment;
+        }
+        else
+        {
+            successor.previous = segment;
+        }
+        segments++;
+        if (successor == null && predecessor != null)
+        {
+            demote(predecessor);
+        }
+        if (predecessor == null && successor != null)
+        {
+            demote(successor);
+        }
+        makeResident(segment);
+    }
+
+    /**
+     * Moves a resident segment that stopped being the head or tail into the LRU.
+     */
+    private void demote(Segment segment)
+    {
+        if (segment != head && segment != tail)
+        {
+            lru.put(segment, Boolean.TRUE);
+            evictDownTo(residentMiddleLimit);
+        }
+    }
+
+    /**
+     * Removes an empty segment and its file; the new head or tail is paged in and pinned.
+     */
+    private void unlink(Segment segment)
+    {
+        if (segment.previous == null)
+        {
+            head = segment.next;
+        }
+        else
+        {
+            segment.previous.next = segment.next;
+        }
+        if (segment.next == null)
+        {
+            tail = segment.previous;
+        }
+        else
+        {
+            segment.next.previous = segment.previous;
+        }
+        lru.remove(segment);
+        segments--;
+        spare = segment.values;
+        deleteFile(segment);
+        if (head != null)
+        {
+            makeResident(head);
+            makeResident(tail);
+        }
+    }
+
+    /**
+     * Ensures a segment is on the heap. Head and tail are pinned; a middle segment becomes the
+     * most recently used one, and the least recently used ones are spilled to respect the budget.
+     */
+    private void makeResident(Segment segment)
+    {
+        boolean pinned = segment == head || segment == tail;
+        if (pinned)
+        {
+            lru.remove(segment);
+        }
+        if (segment.values == null)
+        {
+            evictDownTo(pinned ? residentMiddleLimit : residentMiddleLimit - 1);
+            load(segment);
+        }
+        if (!pinned)
+        {
+            lru.put(segment, Boolean.TRUE);
+        }
+        evictDownTo(residentMiddleLimit);
+    }
+
+    private void evictDownTo(int limit)
+    {
+        Iterator<Segment> eldest = lru.keySet().iterator();
+        while (lru.size() > limit)
+        {
+            Segment victim = eldest.next();
+            eldest.remove();
+            spill(victim);
+        }
+    }
+
+    /**
+     * Writes a segment to its file if the file is stale, then releases its array.
+     * The values are stored compacted, so a page-in places them at index 0.
+     */
+    private void spill(Segment segment)
+    {
+        try
+        {
+            if (segment.dirty || segment.file == null)
+            {
+                if (segment.file == null)
+                {
+                    segment.file = Files.createTempFile(spillDirectory, "segment", ".bin");
+                }
+                transfer.clear();
+                transfer.asIntBuffer().put(segment.values, segment.start, segment.count());
+                transfer.limit(segment.count() * Integer.BYTES);
+                try (FileChannel channel = FileChannel.open(segment.file, StandardOpenOption.WRITE,
+                        StandardOpenOption.TRUNCATE_EXISTING))
+                {
+                    while (transfer.hasRemaining())
+                    {
+                        channel.write(transfer);
+                    }
+                }
+                segment.dirty = false;
+            }
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException("Cannot spill segment to " + spillDirectory, e);
+        }
+        segment.end -= segment.start;
+        segment.start = 0;
+        spare = segment.values;
+        segment.values = null;
+        spilled++;
+    }
+
+    /**
+     * Reads a spilled segment back into an array.
+     */
+    private void load(Segment segment)
+    {
+        int[] values = takeArray();
+        transfer.clear().limit(segment.count() * Integer.BYTES);
+        try (FileChannel channel = FileChannel.open(segment.file, StandardOpenOption.READ))
+        {
+            while (transfer.hasRemaining())
+            {
+                if (channel.read(transfer) < 0)
+                {
+                    throw new IOException("Spill file is truncated: " + segment.file);
+                }
+            }
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException("Cannot page in segment from " + segment.file, e);
+        }
+        transfer.flip();
+        transfer.asIntBuffer().get(values, 0, segment.count());
+        segment.values = values;
+        segment.dirty = false;
+        spilled--;
+    }
+
+    private int[] takeArray()
+    {
+        int[] values = spare == null ? new int[segmentSize] : spare;
+        spare = null;
+        return values;
+    }
+
+    private void deleteFile(Segment segment)
+    {
+        if (segment.file == null)
+        {
+            return;
+        }
+        try
+        {
+            Files.deleteIfExists(segment.file);
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException("Cannot delete spill file " + segment.file, e);
+        }
+    }
+
+    /**
+     * Builds a list of ten million values with a 1 MB budget, edits it in the middle
+     * and sums it with a traversal that pages the spilled segments back in.
+     */
+    public static void main(String[] args) throws IOException
+    {
+        Path directory = Files.createTempDirectory("spill");
+        try (SpillableLinkedList list = new SpillableLinkedList(1 << 20, directory))
+        {
+            for (int i = 0; i < 10_000_000; i++)
+            {
+                list.insertAtTail(i);
+            }
+            System.out.println(list.size() + " values, " + list.residentSegments() + " segments resident, "
+                    + list.spilledSegments() + " spilled");
+            list.insertAtPosition(-1, 5_000_000);
+            list.deleteAtPosition(2_500_000);
+            list.insertAtHead(-2);
+            System.out.println("Value at 5,000,000: " + list.get(5_000_000));
+            long[] sum = new long[1];
+            list.forEach(value -> sum[0] += value);
+            System.out.println("Sum: " + sum[0]);
+        }
+        finally
+        {
+            try (var files = Files.list(directory))
+            {
+                System.out.println("Spill files left after close: " + files.count());
+            }
+            Files.delete(directory);
+        }
+    }
+}
@@ -0,0 +1,423 @@
+package datastructures.linkedlist;
+
+import java.util.Arrays;
+
+/**
+ * A hash multimap from values to the nodes of a singly linked list that hold them, used by
+ * {@link LinkedList} for O(1) expected lookups and removals by value.
+ *
+ * Every node of the list has one entry, stored in parallel arrays: the node, the node's
+ * predecessor (null for the head) and the links of a doubly linked chain through the entries
+ * with the same value. Keeping the predecessor is what makes removal O(1) in a singly linked
+ * list, at the cost of updating the successor's entry whenever a node is inserted or removed
+ * in front of it. Entries freed by removals are reused through a free list.
+ *
+ * Two open-addressing tables lead to the entries:
+ * - The value table has one slot per distinct value, holding the first entry of the value's
+ *   chain and the chain length
+ * - The node table maps each node, by identity, to its entry
+ * so every operation costs O(1) expected, however often a value is repeated. Both tables use
+ * linear probing, shift later entries of a probe run back on deletion instead of leaving
+ * tombstones, and double at a load factor of 1/2.
+ */
+class ValueIndex
+{
+    /** Initial number of entries and table slots, a power of two */
+    private static final int INITIAL_CAPACITY = 16;
+    /** Marks an empty table slot and the end of a chain */
+    private static final int NONE = -1;
+
+    /** Node of each entry, or null for a free entry */
+    private ListNode[] nodes;
+    /** Predecessor of the node of each entry */
+    private ListNode[] predecessors;
+    /** Next entry with the same value, or the next free entry for a free entry */
+    private int[] nextSame;
+    /** Previous entry with the same value */
+    private int[] previousSame;
+    /** First free entry below used */
+    private int freeEntry;
+    /** Number of entries handed out so far; the ones from used on have never been used */
+    private int used;
+    /** Number of nodes in the index */
+    private int size;
+
+    /** Value of each value table slot */
+    private int[] keys;
+    /** First entry of the chain of each value table slot, or NONE for an empty slot */
+    private int[] chainHeads;
+    /** Number of entries in the chain of each value table slot */
+    private int[] chainLengths;
+    /** Number of distinct values */
+    private int distinct;
+    /** Value table capacity - 1, for masking hash codes */
+    private int valueMask;
+
+    /** Entry of the node in each node table slot, or NONE for an empty slot */
+    private int[] nodeTable;
+    /** Node table capacity - 1, for masking hash codes */
+    private int nodeMask;
+
+    ValueIndex()
+    {
+        allocate();
+    }
+
+    /**
+     * Returns the number of entries.
+     */
+    int size()
+    {
+        return size;
+    }
+
+    /**
+     * Adds the entry of a node that was just linked after predecessor.
+     * Time Complexity: O(1) expected
+     */
+    void add(ListNode node, ListNode predecessor)
+    {
+        if (2 * (size + 1) > nodeTable.length)
+        {
+            resizeNodeTable(nodeTable.length * 2);
+        }
+        int entry = newEntry();
+        nodes[entry] = node;
+        predecessors[entry] = predecessor;
+        int slot = nodeHome(node);
+        while (nodeTable[slot] != NONE)
+        {
+            slot = (slot + 1) & nodeMask;
+        }
+        nodeTable[slot] = entry;
+        size++;
+        addToChain(entry, node.getData());
+    }
+
+    /**
+     * Removes the entry of a node.
+     * Time Complexity: O(1) expected
+     */
+    void remove(ListNode node)
+    {
+        int slot = nodeSlot(node);
+        if (slot == NONE)
+        {
+            return;
+        }
+        int entry = nodeTable[slot];
+        deleteNodeSlot(slot);
+        removeFromChain(entry, node.getData());
+        nodes[entry] = null;
+        predecessors[entry] = null;
+        nextSame[entry] = freeEntry;
+        freeEntry = entry;
+        size--;
+    }
+
+    /**
+     * Records a new predecessor for a node that is in the index.
+     * Time Complexity: O(1) expected
+     */
+    void setPredecessor(ListNode node, ListNode predecessor)
+    {
+        int slot = nodeSlot(node);
+        if (slot != NONE)
+        {
+            predecessors[nodeTable[slot]] = predecessor;
+        }
+    }
+
+    /**
+     * Returns the entry of some node holding the value, or -1 if none does.
+     * Time Complexity: O(1) expected
+     */
+    int find(int value)
+    {
+        int slot = valueSlot(value);
+        return slot == NONE ? NONE : chainHeads[slot];
+    }
+
+    /**
+     * Returns the number of nodes holding the value.
+     * Time Complexity: O(1) expected
+     */
+    int count(int value)
+    {
+        int slot = valueSlot(value);
+        return slot == NONE ? 0 : chainLengths[slot];
+    }
+
+    /**
+     * Returns the node stored in an entry returned by find.
+     */
+    ListNode nodeAt(int entry)
+    {
+        return nodes[entry];
+    }
+
+    /**
+     * Returns the predecessor stored in an entry returned by find.
+     */
+    ListNode predecessorAt(int entry)
+    {
+        return predecessors[entry];
+    }
+
+    /**
+     * Takes an entry from the free list, or the next never used one, growing the entry arrays
+     * when they are full.
+     */
+    private int newEntry()
+    {
+        if (freeEntry != NONE)
+        {
+            int entry = freeEntry;
+            freeEntry = nextSame[entry];
+            return entry;
+        }
+        if (used == nodes.length)
+        {
+            int capacity = nodes.length * 2;
+            nodes = Arrays.copyOf(nodes, capacity);
+            predecessors = Arrays.copyOf(predecessors, capacity);
+            nextSame = Arrays.copyOf(nextSame, capacity);
+            previousSame = Arrays.copyOf(previousSame, capacity);
+        }
+        return used++;
+    }
+
+    /**
+     * Puts an entry at the front of its value's chain, claiming a value slot for a new value.
+     */
+    private void addToChain(int entry, int value)
+    {
+        int slot = valueSlot(value);
+        if (slot == NONE)
+        {
+            if (2 * (distinct + 1) > keys.length)
+            {
+                resizeValueTable(keys.length * 2);
+            }
+            slot = valueHome(value);
+            while (chainHeads[slot] != NONE)
+            {
+                slot = (slot + 1) & valueMask;
+            }
+            keys[slot] = value;
+            chainHeads[slot] = NONE;
+            chainLengths[slot] = 0;
+            distinct++;
+        }
+        int first = chainHeads[slot];
+        nextSame[entry] = first;
+        previousSame[entry] = NONE;
+        if (first != NONE)
+        {
+            previousSame[first] = entry;
+        }
+        chainHeads[slot] = entry;
+        chainLengths[slot]++;
+    }
+
+    /**
+     * Unlinks an entry from its value's chain, releasing the value slot with the last entry.
+     */
+    private void removeFromChain(int entry, int value)
+    {
+        int slot = valueSlot(value);
+        int previous = previousSame[entry];
+        int next = nextSame[entry];
+        if (previous == NONE)
+        {
+            chainHeads[slot] = next;
+        }
+        else
+        {
+            nextSame[previous] = next;
+        }
+        if (next != NONE)
+        {
+            previousSame[next] = previous;
+        }
+        if (--chainLengths[slot] == 0)
+        {
+            deleteValueSlot(slot);
+        }
+    }
+
+    private int valueSlot(int value)
+    {
+        int slot = valueHome(value);
+        while (chainHeads[slot] != NONE)
+        {
+            if (keys[slot] == value)
+            {
+                return slot;
+            }
+            slot = (slot + 1) & valueMask;
+        }
+        return NONE;
+    }
+
+    private int nodeSlot(ListNode node)
+    {
+        int slot = nodeHome(node);
+        while (nodeTable[slot] != NONE)
+        {
+            if (nodes[nodeTable[slot]] == node)
+            {
+                return slot;
+            }
+            slot = (slot + 1) & nodeMask;
+        }
+        return NONE;
+    }
+
+    /**
+     * Empties a value slot and moves back the later slots of the probe run that would otherwise
+     * become unreachable: a slot may fill the hole if its home slot is not cyclically
+     * between the hole and its current slot.
+     */
+    private void deleteValueSlot(int hole)
+    {
+        int slot = hole;
+        while (true)
+        {
+            slot = (slot + 1) & valueMask;
+            if (chainHeads[slot] == NONE)
+            {
+                break;
+            }
+            if (!reachable(hole, valueHome(keys[slot]), slot))
+            {
+                keys[hole] = keys[slot];
+                chainHeads[hole] = chainHeads[slot];
+                chainLengths[hole] = chainLengths[slot];
+                hole = slot;
+            }
+        }
+        chainHeads[hole] = NONE;
+        distinct--;
+    }
+
+    /**
+     * Empties a node table slot, moving back later slots of the probe run like deleteValueSlot.
+     */
+    private void deleteNodeSlot(int hole)
+    {
+        int slot = hole;
+        while (true)
+        {
+            slot = (slot + 1) & nodeMask;
+            if (nodeTable[slot] == NONE)
+            {
+                break;
+            }
+            if (!reachable(hole, nodeHome(nodes[nodeTable[slot]]), slot))
+            {
+                nodeTable[hole] = nodeTable[slot];
+                hole = slot;
+            }
+        }
+        nodeTable[hole] = NONE;
+    }
+
+    /**
+     * Checks whether an occupant of slot with the given home slot can still be found
+     * when hole is empty, i.e. whether home lies cyclically in (hole, slot].
+     */
+    private static boolean reachable(int hole, int home, int slot)
+    {
+        return hole <= slot ? hole < home && home <= slot : hole < home || home <= slot;
+    }
+
+    private void resizeValueTable(int capacity)
+    {
+        int[] oldKeys = keys;
+        int[] oldHeads = chainHeads;
+        int[] oldLengths = chainLengths;
+        allocateValueTable(capacity);
+        for (int i = 0; i < oldHeads.length; i++)
+        {
+            if (oldHeads[i] != NONE)
+            {
+                int slot = valueHome(oldKeys[i]);
+                while (chainHeads[slot] != NONE)
+                {
+                    slot = (slot + 1) & valueMask;
+                }
+                keys[slot] = oldKeys[i];
+                chainHeads[slot] = oldHeads[i];
+                chainLengths[slot] = oldLengths[i];
+                distinct++;
+            }
+        }
+    }
+
+    private void resizeNodeTable(int capacity)
+    {
+        int[] oldEntries = nodeTable;
+        allocateNodeTable(capacity);
+        for (int entry : oldEntries)
+        {
+            if (entry != NONE)
+            {
+                int slot = nodeHome(nodes[entry]);
+                while (nodeTable[slot] != NONE)
+                {
+                    slot = (slot + 1) & nodeMask;
+                }
+                nodeTable[slot] = entry;
+            }
+        }
+    }
+
+    private void allocate()
+    {
+        nodes = new ListNode[INITIAL_CAPACITY];
+        predecessors = new ListNode[INITIAL_CAPACITY];
+        nextSame = new int[INITIAL_CAPACITY];
+        previousSame = new int[INITIAL_CAPACITY];
+        freeEntry = NONE;
+        used = 0;
+        size = 0;
+        allocateValueTable(INITIAL_CAPACITY);
+        allocateNodeTable(INITIAL_CAPACITY);
+    }
+
+    private void allocateValueTable(int capacity)
+    {
+        keys = new int[capacity];
+        chainHeads = new int[capacity];
+        chainLengths = new int[capacity];
+        Arrays.fill(chainHeads, NONE);
+        valueMask = capacity - 1;
+        distinct = 0;
+    }
+
+    private void allocateNodeTable(int capacity)
+    {
+        nodeTable = new int[capacity];
+        Arrays.fill(nodeTable, NONE);
+        nodeMask = capacity - 1;
+    }
+
+    /**
+     * Spreads the bits of the value (Fibonacci hashing) and masks it to a value table slot.
+     */
+    private int valueHome(int value)
+    {
+        int h = value * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & valueMask;
+    }
+
+    /**
+     * Spreads the identity hash of the node and masks it to a node table slot.
+     */
+    private int nodeHome(ListNode node)
+    {
+        int h = System.identityHashCode(node) * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & nodeMask;
+    }
+}
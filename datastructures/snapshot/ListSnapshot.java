@@ -0,0 +1,284 @@
+package datastructures.snapshot;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.function.IntConsumer;
+import java.util.zip.CRC32;
+
+/**
+ * A compact, versioned binary format for the contents of the int lists
+ * ({@link datastructures.linkedlist.LinkedList}, {@link datastructures.linkedlist.CircularLinkedList},
+ * {@link datastructures.doublylinkedlist.DoublyLinkedList}), written and read through NIO channels.
+ *
+ * Format (big-endian):
+ * - Header: int magic "LSNP", byte version, byte flags (bit 0 = blocks carry a CRC32)
+ * - Blocks of up to BLOCK_ELEMENTS values: int count, int payload length, the payload and,
+ *   when enabled, the CRC32 of the payload as an int
+ * - A block with count 0 ends the snapshot
+ *
+ * Each payload stores the differences between consecutive values, zigzag-mapped so that small
+ * negative differences stay small, as LEB128 varints (7 bits per byte, high bit = more bytes).
+ * Sorted or slowly changing lists therefore take about one byte per element instead of four.
+ * Differences wrap around in int arithmetic and the first value of a block is stored relative
+ * to 0, so every block decodes on its own.
+ *
+ * Both directions stream: the writer and the reader hold one block in memory, and the reader
+ * hands each value to a consumer, so a list is rebuilt in one linear pass without an
+ * intermediate array.
+ */
+public class ListSnapshot
+{
+    /** Identifies snapshot streams ("LSNP") */
+    public static final int MAGIC = 0x4C534E50;
+    /** Version of the format written by this class */
+    public static final byte VERSION = 1;
+    /** Flag bit: every block is followed by the CRC32 of its payload */
+    static final int FLAG_CHECKSUM = 1;
+    /** Maximum number of values per block */
+    static final int BLOCK_ELEMENTS = 8192;
+    /** Maximum payload bytes per block: a zigzag varint of an int takes at most 5 bytes */
+    static final int MAX_PAYLOAD = BLOCK_ELEMENTS * 5;
+    /** Bytes of the block header (count and payload length) */
+    private static final int BLOCK_HEADER = 8;
+
+    private ListSnapshot()
+    {
+    }
+
+    /**
+     * Writes values to a channel in the snapshot format. Call {@link #write(int)} for each
+     * value in list order, then {@link #finish()} to write the last block and the end marker.
+     * The channel is not closed.
+     */
+    public static class Writer
+    {
+        private final WritableByteChannel channel;
+        private final boolean checksums;
+        /** Block under construction: header space, payload, room for the checksum */
+        private final ByteBuffer block = ByteBuffer.allocate(BLOCK_HEADER + MAX_PAYLOAD + 4);
+        private final CRC32 crc = new CRC32();
+        /** Number of values in the current block */
+        private int count;
+        /** Previous value in the current block */
+        private int previous;
+        /** Total number of values written */
+        private long written;
+
+        /**
+         * Writes the header and prepares the first block.
+         *
+         * @param channel The destination
+         * @param checksums true to protect every block with a CRC32
+         * @throws IOException if the header cannot be written
+         */
+        public Writer(WritableByteChannel channel, boolean checksums) throws IOException
+        {
+            this.channel = channel;
+            this.checksums = checksums;
+            ByteBuffer header = ByteBuffer.allocate(6);
+            header.putInt(MAGIC).put(VERSION).put((byte) (checksums ? FLAG_CHECKSUM : 0)).flip();
+            writeFully(header);
+            block.position(BLOCK_HEADER);
+        }
+
+        /**
+         * Appends one value.
+         * Time Complexity: O(1) amortized
+         *
+         * @param value The next value of the list
+         * @throws IOException if a full block cannot be written
+         */
+        public void write(int value) throws IOException
+        {
+            int delta = value - previous;
+            int zigzag = (delta << 1) ^ (delta >> 31);
+            while ((zigzag & ~0x7F) != 0)
+            {
+                block.put((byte) (zigzag & 0x7F | 0x80));
+                zigzag >>>= 7;
+            }
+            block.put((byte) zigzag);
+            previous = value;
+            written++;
+            if (++count == BLOCK_ELEMENTS)
+            {
+                flushBlock();
+            }
+        }
+
+        /**
+         * Writes the pending block and the end marker.
+         *
+         * @return The total number of values written
+         * @throws IOException if the channel cannot be written
+         */
+        public long finish() throws IOException
+        {
+            if (count > 0)
+            {
+                flushBlock();
+            }
+            ByteBuffer end = ByteBuffer.allocate(BLOCK_HEADER);
+            end.putInt(0).putInt(0).flip();
+            writeFully(end);
+            return written;
+        }
+
+        private void flushBlock() throws IOException
+        {
+            int payload = block.position() - BLOCK_HEADER;
+            block.putInt(0, count).putInt(4, payload);
+            if (checksums)
+            {
+                crc.reset();
+                crc.update(block.array(), BLOCK_HEADER, payload);
+                block.putInt((int) crc.getValue());
+            }
+            block.flip();
+            writeFully(block);
+            block.clear().position(BLOCK_HEADER);
+            count = 0;
+            previous = 0;
+        }
+
+        private void writeFully(ByteBuffer buffer) throws IOException
+        {
+            while (buffer.hasRemaining())
+            {
+                channel.write(buffer);
+            }
+        }
+    }
+
+    /**
+     * Reads a snapshot and passes its values to the consumer in list order.
+     * Time Complexity: O(n)
+     *
+     * Logic:
+     * 1. Check the magic number, the version and the flags
+     * 2. For each block: read the header and the payload, verify the checksum if present
+     * 3. Decode the varints, undo the zigzag mapping and add each difference to the previous value
+     * 4. Stop at the block with count 0
+     *
+     * @param channel The source, positioned at the header; it is not closed
+     * @param consumer Receives every value
+     * @return The number of values read
+     * @throws IOException if the stream is truncated, corrupt or of another version
+     */
+    public static long read(ReadableByteChannel channel, IntConsumer consumer) throws IOException
+    {
+        ByteBuffer header = ByteBuffer.allocate(6);
+        readFully(channel, header);
+        if (header.getInt() != MAGIC)
+        {
+            throw new IOException("Not a list snapshot");
+        }
+        byte version = header.get();
+        if (version != VERSION)
+        {
+            throw new IOException("Unsupported snapshot version " + version);
+        }
+        int flags = header.get();
+        if ((flags & ~FLAG_CHECKSUM) != 0)
+        {
+            throw new IOException("Unknown snapshot flags " + flags);
+        }
+        boolean checksums = (flags & FLAG_CHECKSUM) != 0;
+        ByteBuffer blockHeader = ByteBuffer.allocate(BLOCK_HEADER);
+        ByteBuffer block = ByteBuffer.allocate(MAX_PAYLOAD + 4);
+        CRC32 crc = new CRC32();
+        long total = 0;
+        while (true)
+        {
+            blockHeader.clear();
+            readFully(channel, blockHeader);
+            int count = blockHeader.getInt();
+            int payload = blockHeader.getInt();
+            if (count == 0)
+            {
+                return total;
+            }
+            if (count < 0 || count > BLOCK_ELEMENTS || payload < count || payload > MAX_PAYLOAD)
+            {
+                throw new IOException("Corrupt block header at value " + total);
+            }
+            block.clear().limit(payload + (checksums ? 4 : 0));
+            readFully(channel, block);
+            if (checksums)
+            {
+                crc.reset();
+                crc.update(block.array(), 0, payload);
+                if (block.getInt(payload) != (int) crc.getValue())
+                {
+                    throw new IOException("Checksum mismatch in block starting at value " + total);
+                }
+            }
+            byte[] bytes = block.array();
+            int position = 0;
+            int value = 0;
+            for (int i = 0; i < count; i++)
+            {
+                int zigzag = 0;
+                int shift = 0;
+                byte b;
+                do
+                {
+                    if (position == payload || shift > 28)
+                    {
+                        throw new IOException("Corrupt varint in block starting at value " + total);
+                    }
+                    b = bytes[position++];
+                    zigzag |= (b & 0x7F) << shift;
+                    shift += 7;
+                }
+                while (b < 0);
+                value += (zigzag >>> 1) ^ -(zigzag & 1);
+                consumer.accept(value);
+            }
+            if (position != payload)
+            {
+                throw new IOException("Block payload length does not match its values at value " + total);
+            }
+            total += count;
+        }
+    }
+
+    private static void readFully(ReadableByteChannel channel, ByteBuffer buffer) throws IOException
+    {
+        while (buffer.hasRemaining())
+        {
+            if (channel.read(buffer) < 0)
+            {
+                throw new IOException("Unexpected end of snapshot");
+            }
+        }
+        buffer.flip();
+    }
+
+    /**
+     * Encodes a slowly increasing sequence and reports the size per value.
+     */
+    public static void main(String[] args) throws IOException
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        Writer writer = new Writer(Channels.newChannel(bytes), true);
+        int n = 1_000_000;
+        for (int i = 0; i < n; i++)
+        {
+            writer.write(i * 3 + (i % 7) - 3);
+        }
+        writer.finish();
+        System.out.printf("%d values in %d bytes (%.2f bytes per value)%n", n, bytes.size(),
+                (double) bytes.size() / n);
+
+        long[] sum = new long[1];
+        long read = read(Channels.newChannel(new ByteArrayInputStream(bytes.toByteArray())),
+                value -> sum[0] += value);
+        System.out.println("Read back " + read + " values with sum " + sum[0]);
+    }
+}
@@ -0,0 +1,219 @@
+package recursion;
+
+import java.math.BigInteger;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * This class computes factorials without the silent overflow of {@link FactorialRecursion#factorial(int)}.
+ * It provides three variants:
+ * 1. An int version for n <= 12, served from a precomputed table, that throws on overflow
+ * 2. A long version for n <= 20, served from the same table, that throws on overflow
+ * 3. An arbitrary-precision BigInteger version for any n >= 0
+ *
+ * The BigInteger version uses binary splitting: instead of multiplying 1 * 2 * ... * n
+ * one factor at a time (where every step multiplies a huge number by a small one), it
+ * builds a balanced product tree so that the expensive multiplications combine operands
+ * of similar size, which is where BigInteger's Karatsuba/Toom-Cook algorithms pay off.
+ * Independent subtrees are evaluated in parallel on a ForkJoinPool.
+ *
+ * Additionally, the powers of two are factored out: n! = (product of odd parts) * 2^e,
+ * with e = n - popcount(n), and applied with a single shift at the end.
+ */
+public class BigFactorial
+{
+    /** Largest n whose factorial fits in an int */
+    public static final int MAX_INT_FACTORIAL = 12;
+    /** Largest n whose factorial fits in a long */
+    public static final int MAX_LONG_FACTORIAL = 20;
+
+    /** Ranges with at most this many factors are multiplied sequentially */
+    private static final int LEAF_SIZE = 256;
+    /** Ranges with at least this many factors are split into parallel tasks */
+    private static final int PARALLEL_THRESHOLD = 1 << 14;
+
+    /** LONG_FACTORIALS[i] = i! for 0 <= i <= 20 */
+    private static final long[] LONG_FACTORIALS = new long[MAX_LONG_FACTORIAL + 1];
+
+    static
+    {
+        LONG_FACTORIALS[0] = 1;
+        for (int i = 1; i <= MAX_LONG_FACTORIAL; i++)
+        {
+            LONG_FACTORIALS[i] = LONG_FACTORIALS[i - 1] * i;
+        }
+    }
+
+    /**
+     * Returns n! as an int.
+     * Time Complexity: O(1)
+     *
+     * @param n The number to calculate factorial for (0 <= n <= 12)
+     * @return The factorial of n
+     * @throws IllegalArgumentException if n is negative
+     * @throws ArithmeticException if n! does not fit in an int
+     */
+    public static int factorialExact(int n)
+    {
+        checkNonNegative(n);
+        if (n > MAX_INT_FACTORIAL)
+        {
+            throw new ArithmeticException(n + "! overflows int");
+        }
+        return (int) LONG_FACTORIALS[n];
+    }
+
+    /**
+     * Returns n! as a long.
+     * Time Complexity: O(1)
+     *
+     * @param n The number to calculate factorial for (0 <= n <= 20)
+     * @return The factorial of n
+     * @throws IllegalArgumentException if n is negative
+     * @throws ArithmeticException if n! does not fit in a long
+     */
+    public static long factorialLong(int n)
+    {
+        checkNonNegative(n);
+        if (n > MAX_LONG_FACTORIAL)
+        {
+            throw new ArithmeticException(n + "! overflows long");
+        }
+        return LONG_FACTORIALS[n];
+    }
+
+    /**
+     * Returns n! as a BigInteger using the common ForkJoinPool.
+     *
+     * @param n The number to calculate factorial for (n >= 0)
+     * @return The factorial of n
+     */
+    public static BigInteger factorial(int n)
+    {
+        return factorial(n, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Returns n! as a BigInteger, evaluating the product tree on the given pool.
+     *
+     * @param n The number to calculate factorial for (n >= 0)
+     * @param pool The pool used to evaluate independent subtrees in parallel
+     * @return The factorial of n
+     *
+     * Base case:
+     * - n <= 20 is served from the precomputed table
+     *
+     * Logic:
+     * 1. Multiply the odd parts of 3..n with a parallel product tree
+     * 2. Shift left by the number of factors of two in n!, which is n - popcount(n)
+     */
+    public static BigInteger factorial(int n, ForkJoinPool pool)
+    {
+        checkNonNegative(n);
+        if (n <= MAX_LONG_FACTORIAL)
+        {
+            return BigInteger.valueOf(LONG_FACTORIALS[n]);
+        }
+        BigInteger oddProduct = pool.invoke(new OddPartProduct(3, n));
+        return oddProduct.shiftLeft(n - Integer.bitCount(n));
+    }
+
+    /**
+     * Multiplies the odd parts of all integers in [lo, hi].
+     * The odd part of i is i with all trailing zero bits removed.
+     */
+    @SuppressWarnings("serial")
+    private static class OddPartProduct extends RecursiveTask<BigInteger>
+    {
+        private final int lo;
+        private final int hi;
+
+        OddPartProduct(int lo, int hi)
+        {
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        protected BigInteger compute()
+        {
+            return product(lo, hi);
+        }
+
+        /**
+         * Base case: small ranges are multiplied sequentially
+         * Recursive case: split the range in half and multiply both halves,
+         * forking the left half when the range is large enough
+         */
+        private static BigInteger product(int lo, int hi)
+        {
+            if (hi - lo < LEAF_SIZE)
+            {
+                return leafProduct(lo, hi);
+            }
+            int mid = (lo + hi) >>> 1;
+            if (hi - lo < PARALLEL_THRESHOLD)
+            {
+                return product(lo, mid).multiply(product(mid + 1, hi));
+            }
+            OddPartProduct left = new OddPartProduct(lo, mid);
+            left.fork();
+            BigInteger right = product(mid + 1, hi);
+            return left.join().multiply(right);
+        }
+
+        /**
+         * Accumulates factors in a long for as long as possible and only
+         * falls back to BigInteger multiplication when the long would overflow.
+         */
+        private static BigInteger leafProduct(int lo, int hi)
+        {
+            BigInteger result = BigInteger.ONE;
+            long accumulator = 1;
+            for (long i = lo; i <= hi; i++)
+            {
+                long odd = i >> Long.numberOfTrailingZeros(i);
+                if (accumulator > Long.MAX_VALUE / odd)
+                {
+                    result = result.multiply(BigInteger.valueOf(accumulator));
+                    accumulator = 1;
+                }
+                accumulator *= odd;
+            }
+            return result.multiply(BigInteger.valueOf(accumulator));
+        }
+    }
+
+    private static void checkNonNegative(int n)
+    {
+        if (n < 0)
+        {
+            throw new IllegalArgumentException("Factorial is undefined for negative numbers: " + n);
+        }
+    }
+
+    /**
+     * Demonstrates the table-backed fast paths, the overflow check
+     * and the arbitrary-precision factorial of a large number.
+     */
+    public static void main(String[] args)
+    {
+        System.out.println("12! = " + factorialExact(12));
+        System.out.println("20! = " + factorialLong(20));
+        try
+        {
+            factorialLong(21);
+        }
+        catch (ArithmeticException e)
+        {
+            System.out.println("Overflow detected: " + e.getMessage());
+        }
+        System.out.println("30! = " + factorial(30));
+
+        int n = 1_000_000;
+        long start = System.nanoTime();
+        BigInteger big = factorial(n);
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        System.out.println(n + "! has " + big.bitLength() + " bits, computed in " + millis + " ms");
+    }
+}
@@ -0,0 +1,206 @@
+package recursion;
+
+/**
+ * A heap-allocated call stack for running recursive algorithms iteratively.
+ * Each frame is a fixed number of int slots stored contiguously in a single
+ * int array, so pushing and popping frames never allocates objects. The
+ * backing array only grows (by doubling) when the stack gets deeper than it
+ * has ever been before.
+ *
+ * A recursive method is converted by storing its parameters and a "resume
+ * point" in the slots of a frame:
+ * 1. A call becomes a push of a new frame
+ * 2. A return becomes a pop
+ * 3. The loop always works on the frame at the top of the stack
+ *
+ * Example: a frame of width 2 can hold (position, nextValue) for the k-ary
+ * string generator.
+ *
+ * Since the depth is limited only by heap size, inputs that would throw
+ * StackOverflowError with real recursion can be processed without raising -Xss.
+ */
+public class ExplicitStack
+{
+    /** Default number of frames the stack can hold before growing */
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /** Storage for all frames, frame i occupies slots [i * frameWidth, (i + 1) * frameWidth) */
+    private int[] slots;
+    /** Number of int slots in each frame */
+    private final int frameWidth;
+    /** Offset of the first slot of the top frame, or -frameWidth when empty */
+    private int top;
+
+    /**
+     * Creates an empty stack with the default capacity.
+     *
+     * @param frameWidth The number of int slots in every frame (must be > 0)
+     */
+    public ExplicitStack(int frameWidth)
+    {
+        this(frameWidth, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates an empty stack able to hold the given number of frames before growing.
+     *
+     * @param frameWidth The number of int slots in every frame (must be > 0)
+     * @param capacity The number of frames to preallocate
+     */
+    public ExplicitStack(int frameWidth, int capacity)
+    {
+        if (frameWidth <= 0)
+        {
+            throw new IllegalArgumentException("Frame width must be positive: " + frameWidth);
+        }
+        this.frameWidth = frameWidth;
+        this.slots = new int[frameWidth * Math.max(capacity, 1)];
+        this.top = -frameWidth;
+    }
+
+    /**
+     * Pushes a new frame with all slots set to zero.
+     * Time Complexity: O(1) amortized
+     */
+    public void push()
+    {
+        top += frameWidth;
+        if (top + frameWidth > slots.length)
+        {
+            int[] grown = new int[slots.length * 2];
+            System.arraycopy(slots, 0, grown, 0, slots.length);
+            slots = grown;
+        }
+        for (int i = 0; i < frameWidth; i++)
+        {
+            slots[top + i] = 0;
+        }
+    }
+
+    /**
+     * Pushes a new frame of width 1 holding the given value.
+     * Time Complexity: O(1) amortized
+     *
+     * @param slot0 The value of slot 0
+     * @throws IllegalStateException if the frame width is not 1
+     */
+    public void push(int slot0)
+    {
+        checkWidth(1);
+        push();
+        slots[top] = slot0;
+    }
+
+    /**
+     * Pushes a new frame of width 2 holding the given pair of values.
+     * Time Complexity: O(1) amortized
+     *
+     * @param slot0 The value of slot 0
+     * @param slot1 The value of slot 1
+     * @throws IllegalStateException if the frame width is not 2
+     */
+    public void push(int slot0, int slot1)
+    {
+        checkWidth(2);
+        push();
+        slots[top] = slot0;
+        slots[top + 1] = slot1;
+    }
+
+    /**
+     * Rejects a push whose number of values does not match the frame width,
+     * which would otherwise drop values or leave slots silently zeroed.
+     */
+    private void checkWidth(int pushed)
+    {
+        if (frameWidth != pushed)
+        {
+            throw new IllegalStateException("Pushed " + pushed + " slots into frames of width " + frameWidth);
+        }
+    }
+
+    /**
+     * Removes the top frame.
+     * Time Complexity: O(1)
+     */
+    public void pop()
+    {
+        if (top < 0)
+        {
+            throw new IllegalStateException("Stack is empty");
+        }
+        top -= frameWidth;
+    }
+
+    /**
+     * Returns a slot of the top frame.
+     *
+     * @param slot The slot index within the frame (0-based)
+     * @return The value stored in the slot
+     */
+    public int get(int slot)
+    {
+        return slots[top + slot];
+    }
+
+    /**
+     * Updates a slot of the top frame.
+     *
+     * @param slot The slot index within the frame (0-based)
+     * @param value The new value of the slot
+     */
+    public void set(int slot, int value)
+    {
+        slots[top + slot] = value;
+    }
+
+    /**
+     * Returns the number of frames currently on the stack.
+     *
+     * @return The stack depth
+     */
+    public int depth()
+    {
+        return top / frameWidth + 1;
+    }
+
+    /**
+     * Checks whether the stack has no frames.
+     *
+     * @return true if the stack is empty, false otherwise
+     */
+    public boolean isEmpty()
+    {
+        return top < 0;
+    }
+
+    /**
+     * Removes all frames while keeping the allocated storage for reuse.
+     */
+    public void clear()
+    {
+        top = -frameWidth;
+    }
+
+    /**
+     * Demonstrates the stack by summing 1..n with a simulated recursion
+     * deep enough to overflow the default thread stack.
+     */
+    public static void main(String[] args)
+    {
+        int n = 1_000_000;
+        ExplicitStack stack = new ExplicitStack(1);
+        for (int i = n; i >= 1; i--)
+        {
+            stack.push(i);
+        }
+        System.out.println("Depth reached: " + stack.depth());
+        long sum = 0;
+        while (!stack.isEmpty())
+        {
+            sum += stack.get(0);
+            stack.pop();
+        }
+        System.out.println("Sum of 1.." + n + " is " + sum);
+    }
+}
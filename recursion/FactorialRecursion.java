@@ -29,6 +29,34 @@ public class FactorialRecursion
         return n * factorial(n - 1);
     }
 
+    /**
+     * Calculates the factorial of a number by running the recursion on an {@link ExplicitStack}.
+     * 
+     * @param n The number to calculate factorial for (n >= 0)
+     * @return The factorial of n
+     * 
+     * Logic:
+     * 1. Winding phase: push one frame per recursive call factorial(n), factorial(n-1), ..., factorial(1)
+     * 2. Base case: factorial(0) returns 1
+     * 3. Unwinding phase: pop each frame and multiply its n into the returned value
+     * The frames live on the heap, so the depth is not limited by the thread stack.
+     */
+    public static int factorialIterative(int n)
+    {
+        ExplicitStack stack = new ExplicitStack(1, n + 1);
+        for (int i = n; i > 0; i--)
+        {
+            stack.push(i);
+        }
+        int result = 1;
+        while (!stack.isEmpty())
+        {
+            result *= stack.get(0);
+            stack.pop();
+        }
+        return result;
+    }
+
     /**
      * Main method to demonstrate factorial calculation.
      * Tests the factorial method with n = 5.
@@ -37,5 +65,6 @@ public class FactorialRecursion
     {
         int n = 5;
         System.out.println("Factorial of " + n + " is " + factorial(n));
+        System.out.println("Factorial of " + n + " is " + factorialIterative(n) + " (iterative)");
     }
 }
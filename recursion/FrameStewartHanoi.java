@@ -0,0 +1,364 @@
+package recursion;
+
+/**
+ * Tower of Hanoi with more than three rods, solved with the Frame-Stewart algorithm.
+ * {@link TowerOfHanoi} only supports three rods; with p >= 4 rods far fewer moves are needed.
+ *
+ * Frame-Stewart moves n disks from the source to the destination with p rods by:
+ * 1. Moving the top t disks to an intermediate rod, using all p rods
+ * 2. Moving the remaining n - t disks to the destination, using the p - 1 rods
+ *    not occupied by the t disks (classic Hanoi when p - 1 = 3)
+ * 3. Moving the t disks from the intermediate rod to the destination, using all p rods
+ *
+ * giving FS(n, p) = min over 1 <= t < n of 2 * FS(t, p) + FS(n - t, p - 1).
+ * The minimum and the best t are memoized in DP tables for every n and p, so move counts
+ * for hundreds of disks are table lookups. Moves are emitted iteratively on an
+ * {@link ExplicitStack}, and {@link MoveVerifier} checks any move stream for legality.
+ *
+ * Rods are numbered 0 (source) to p - 1 (destination), disks 1 (smallest) to n.
+ */
+public class FrameStewartHanoi
+{
+    /** Largest supported number of rods, limited by the rod bitmask in each frame */
+    public static final int MAX_RODS = 31;
+    /** Marks a move count that does not fit in a long */
+    private static final long SATURATED = Long.MAX_VALUE;
+
+    /** Frame slots for the iterative solver */
+    private static final int BASE = 0;
+    private static final int DISKS = 1;
+    private static final int SOURCE = 2;
+    private static final int TARGET = 3;
+    private static final int RODS = 4;
+    private static final int STAGE = 5;
+    private static final int INTERMEDIATE = 6;
+    private static final int FRAME_WIDTH = 7;
+
+    /** Largest number of disks covered by the tables */
+    private final int maxDisks;
+    /** Number of rods */
+    private final int rods;
+    /** moves[n][p] = FS(n, p), or SATURATED if it overflows a long */
+    private final long[][] moves;
+    /** split[n][p] = smallest t achieving FS(n, p) */
+    private final int[][] split;
+
+    /**
+     * Builds the DP tables for up to maxDisks disks and up to the given number of rods.
+     * Time Complexity: O(maxDisks^2 * rods)
+     * Space Complexity: O(maxDisks * rods)
+     *
+     * @param maxDisks The largest number of disks to support (>= 0)
+     * @param rods The number of rods (3 <= rods <= 31)
+     */
+    public FrameStewartHanoi(int maxDisks, int rods)
+    {
+        if (maxDisks < 0)
+        {
+            throw new IllegalArgumentException("Number of disks must be non-negative: " + maxDisks);
+        }
+        if (rods < 3 || rods > MAX_RODS)
+        {
+            throw new IllegalArgumentException("Number of rods must be between 3 and " + MAX_RODS + ": " + rods);
+        }
+        this.maxDisks = maxDisks;
+        this.rods = rods;
+        this.moves = new long[maxDisks + 1][rods + 1];
+        this.split = new int[maxDisks + 1][rods + 1];
+
+        for (int p = 3; p <= rods; p++)
+        {
+            for (int n = 1; n <= maxDisks; n++)
+            {
+                if (n == 1)
+                {
+                    moves[n][p] = 1;
+                    continue;
+                }
+                if (p == 3)
+                {
+                    // classic Hanoi: t = n - 1, FS(n, 3) = 2^n - 1
+                    moves[n][p] = n < Long.SIZE - 1 ? (1L << n) - 1 : SATURATED;
+                    split[n][p] = n - 1;
+                    continue;
+                }
+                long best = SATURATED;
+                int bestSplit = n - 1;
+                for (int t = 1; t < n; t++)
+                {
+                    long candidate = add(add(moves[t][p], moves[t][p]), moves[n - t][p - 1]);
+                    if (candidate < best)
+                    {
+                        best = candidate;
+                        bestSplit = t;
+                    }
+                }
+                moves[n][p] = best;
+                split[n][p] = bestSplit;
+            }
+        }
+    }
+
+    /**
+     * Returns the Frame-Stewart move count for n disks using all rods.
+     * Time Complexity: O(1)
+     *
+     * @param n The number of disks (0 <= n <= maxDisks)
+     * @return The number of moves
+     * @throws ArithmeticException if the count does not fit in a long
+     */
+    public long minimumMoves(int n)
+    {
+        return minimumMoves(n, rods);
+    }
+
+    /**
+     * Returns the Frame-Stewart move count for n disks using p rods.
+     * Time Complexity: O(1)
+     *
+     * @param n The number of disks (0 <= n <= maxDisks)
+     * @param p The number of rods (3 <= p <= rods)
+     * @return The number of moves
+     * @throws ArithmeticException if the count does not fit in a long
+     */
+    public long minimumMoves(int n, int p)
+    {
+        check(n, p);
+        if (moves[n][p] == SATURATED)
+        {
+            throw new ArithmeticException("Move count for " + n + " disks and " + p + " rods overflows long");
+        }
+        return moves[n][p];
+    }
+
+    /**
+     * Returns the number of disks moved aside in step 1 of an optimal solution.
+     *
+     * @param n The number of disks (2 <= n <= maxDisks)
+     * @param p The number of rods (3 <= p <= rods)
+     * @return The optimal split t
+     */
+    public int optimalSplit(int n, int p)
+    {
+        check(n, p);
+        return split[n][p];
+    }
+
+    /**
+     * Emits the moves that transfer n disks from rod 0 to the last rod using all rods.
+     * Time Complexity: O(FS(n, p)), Space Complexity: O(n) heap, O(1) call stack
+     *
+     * @param n The number of disks (0 <= n <= maxDisks)
+     * @param visitor Receives each move
+     *
+     * Logic (each frame is one sub-problem: disks base+1..base+n, source, target, usable rods):
+     * - No disks: return
+     * - One disk: emit the move and return
+     * - Stage 0: pick a free intermediate rod and move the top t disks there
+     * - Stage 1: move the other n - t disks to the target without the intermediate rod
+     * - Stage 2: move the t disks from the intermediate rod to the target
+     */
+    public void solve(int n, HanoiMoves.MoveVisitor visitor)
+    {
+        check(n, rods);
+        ExplicitStack stack = new ExplicitStack(FRAME_WIDTH, 2 * n + 1);
+        push(stack, 0, n, 0, rods - 1, (1 << rods) - 1);
+        while (!stack.isEmpty())
+        {
+            int disks = stack.get(DISKS);
+            if (disks <= 1)
+            {
+                if (disks == 1)
+                {
+                    visitor.move(stack.get(BASE) + 1, stack.get(SOURCE), stack.get(TARGET));
+                }
+                stack.pop();
+                continue;
+            }
+            int base = stack.get(BASE);
+            int source = stack.get(SOURCE);
+            int target = stack.get(TARGET);
+            int usable = stack.get(RODS);
+            int t = split[disks][Integer.bitCount(usable)];
+            switch (stack.get(STAGE))
+            {
+                case 0:
+                {
+                    int spare = usable & ~(1 << source) & ~(1 << target);
+                    int intermediate = Integer.numberOfTrailingZeros(spare);
+                    stack.set(INTERMEDIATE, intermediate);
+                    stack.set(STAGE, 1);
+                    push(stack, base, t, source, intermediate, usable);
+                    break;
+                }
+                case 1:
+                {
+                    int intermediate = stack.get(INTERMEDIATE);
+                    stack.set(STAGE, 2);
+                    push(stack, base + t, disks - t, source, target, usable & ~(1 << intermediate));
+                    break;
+                }
+                case 2:
+                {
+                    int intermediate = stack.get(INTERMEDIATE);
+                    stack.set(STAGE, 3);
+                    push(stack, base, t, intermediate, target, usable);
+                    break;
+                }
+                default:
+                    stack.pop();
+            }
+        }
+    }
+
+    private static void push(ExplicitStack stack, int base, int disks, int source, int target, int usable)
+    {
+        stack.push();
+        stack.set(BASE, base);
+        stack.set(DISKS, disks);
+        stack.set(SOURCE, source);
+        stack.set(TARGET, target);
+        stack.set(RODS, usable);
+    }
+
+    private static long add(long a, long b)
+    {
+        long sum = a + b;
+        return a == SATURATED || b == SATURATED || sum < 0 ? SATURATED : sum;
+    }
+
+    private void check(int n, int p)
+    {
+        if (n < 0 || n > maxDisks)
+        {
+            throw new IllegalArgumentException("Number of disks must be between 0 and " + maxDisks + ": " + n);
+        }
+        if (p < 3 || p > rods)
+        {
+            throw new IllegalArgumentException("Number of rods must be between 3 and " + rods + ": " + p);
+        }
+    }
+
+    /**
+     * Checks a stream of moves for legality against the Hanoi rules.
+     * The contents of each rod are a bitset with bit d-1 set when disk d is on it,
+     * so the top disk of a rod is its lowest set bit. Most moves involve small disks,
+     * whose bits are in the first word, so a move is usually checked with a couple of
+     * word reads and two bit flips.
+     */
+    public static class MoveVerifier implements HanoiMoves.MoveVisitor
+    {
+        /** contents[rod][word] is the bitset of disks on the rod */
+        private final long[][] contents;
+        /** Number of moves accepted so far */
+        private long count;
+
+        /**
+         * Creates a verifier with all n disks on rod 0.
+         *
+         * @param disks The number of disks
+         * @param rods The number of rods
+         */
+        public MoveVerifier(int disks, int rods)
+        {
+            int words = (disks + Long.SIZE - 1) / Long.SIZE;
+            this.contents = new long[rods][words];
+            for (int d = 0; d < disks; d++)
+            {
+                contents[0][d >>> 6] |= 1L << d;
+            }
+        }
+
+        /**
+         * Applies a move after checking it.
+         *
+         * @param disk The disk being moved
+         * @param from The rod the disk leaves
+         * @param to The rod the disk is placed on
+         * @throws IllegalStateException if the disk is not on top of from, or to has a smaller disk on top
+         */
+        @Override
+        public void move(int disk, int from, int to)
+        {
+            int bit = disk - 1;
+            if (from == to || lowestDisk(contents[from]) != bit)
+            {
+                throw new IllegalStateException("Move " + (count + 1) + ": disk " + disk
+                        + " is not on top of rod " + from);
+            }
+            int top = lowestDisk(contents[to]);
+            if (top >= 0 && top < bit)
+            {
+                throw new IllegalStateException("Move " + (count + 1) + ": disk " + disk
+                        + " cannot be placed on disk " + (top + 1) + " on rod " + to);
+            }
+            contents[from][bit >>> 6] &= ~(1L << bit);
+            contents[to][bit >>> 6] |= 1L << bit;
+            count++;
+        }
+
+        /**
+         * Checks whether every disk is on the given rod.
+         *
+         * @param rod The rod to check
+         * @return true if no other rod holds a disk
+         */
+        public boolean isComplete(int rod)
+        {
+            for (int r = 0; r < contents.length; r++)
+            {
+                if (r != rod && lowestDisk(contents[r]) >= 0)
+                {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Returns the number of legal moves applied.
+         *
+         * @return The move count
+         */
+        public long getCount()
+        {
+            return count;
+        }
+
+        /**
+         * Returns the index of the lowest set bit, i.e. the top disk minus one, or -1 if the rod is empty.
+         */
+        private static int lowestDisk(long[] words)
+        {
+            for (int w = 0; w < words.length; w++)
+            {
+                if (words[w] != 0)
+                {
+                    return (w << 6) + Long.numberOfTrailingZeros(words[w]);
+                }
+            }
+            return -1;
+        }
+    }
+
+    /**
+     * Demonstrates move counts for several rod counts, and solves and verifies
+     * a 4-rod puzzle.
+     */
+    public static void main(String[] args)
+    {
+        FrameStewartHanoi hanoi = new FrameStewartHanoi(500, 6);
+        for (int p = 4; p <= 6; p++)
+        {
+            System.out.println("Moves for 500 disks with " + p + " rods: " + hanoi.minimumMoves(500, p));
+        }
+
+        FrameStewartHanoi fourRods = new FrameStewartHanoi(20, 4);
+        MoveVerifier verifier = new MoveVerifier(20, 4);
+        fourRods.solve(20, verifier);
+        System.out.println("20 disks, 4 rods: " + verifier.getCount() + " moves, expected "
+                + fourRods.minimumMoves(20) + ", complete: " + verifier.isComplete(3));
+
+        fourRods.solve(3, (disk, from, to) -> System.out.println("Move disk " + disk + " from " + from + " to " + to));
+    }
+}
@@ -0,0 +1,165 @@
+package recursion;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Writes the complete Tower of Hanoi solution to a binary file in parallel.
+ *
+ * Printing every move with System.out.println is limited by string formatting and
+ * console I/O. Here each move is stored as a fixed-width 2-byte record (big-endian),
+ * packed exactly like {@link HanoiMoves#moveAt(int, long)}:
+ *
+ *   bits 4..9: disk (1 = smallest), bits 2..3: from rod, bits 0..1: to rod
+ *
+ * Move k (1-based) is stored at byte offset 2 * (k - 1), so the file can be read
+ * with random access and the k-th record decoded with {@link HanoiMoves#disk(int)},
+ * {@link HanoiMoves#from(int)} and {@link HanoiMoves#to(int)}.
+ *
+ * Because the state before any move is known in closed form ({@link HanoiMoves#solveRange}),
+ * the move range is split into one contiguous segment per worker. Every worker maps its
+ * own segment of the output file in windows and writes records straight into the page
+ * cache, so workers never share buffers or locks.
+ */
+public class HanoiMoveWriter
+{
+    /** Size of one move record in bytes */
+    public static final int RECORD_BYTES = 2;
+    /** Number of records mapped at once by a worker (64 MB windows) */
+    private static final long WINDOW_RECORDS = 1L << 25;
+
+    /** Pool running the workers */
+    private final ForkJoinPool pool;
+    /** Number of segments the move range is split into */
+    private final int segments;
+
+    /**
+     * Creates a writer that uses the common ForkJoinPool with one segment per processor.
+     */
+    public HanoiMoveWriter()
+    {
+        this(ForkJoinPool.commonPool(), Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates a writer with an explicit pool and number of segments.
+     *
+     * @param pool The pool running the workers
+     * @param segments The number of independent segments (>= 1)
+     */
+    public HanoiMoveWriter(ForkJoinPool pool, int segments)
+    {
+        if (segments < 1)
+        {
+            throw new IllegalArgumentException("Need at least one segment: " + segments);
+        }
+        this.pool = pool;
+        this.segments = segments;
+    }
+
+    /**
+     * Writes all 2^n - 1 moves for n disks to the file, replacing its contents.
+     * Time Complexity: O(2^n / p) with p workers
+     * Space: 2 * (2^n - 1) bytes on disk
+     *
+     * @param n The number of disks (1 <= n <= 62)
+     * @param file The output file
+     * @return The number of moves written
+     * @throws IOException if the file cannot be created or written
+     */
+    public long write(int n, Path file) throws IOException
+    {
+        HanoiMoves.checkDisks(n);
+        long total = HanoiMoves.moveCount(n);
+        if (total > Long.MAX_VALUE / RECORD_BYTES)
+        {
+            throw new IllegalArgumentException("Output for " + n + " disks exceeds the maximum file size");
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING))
+        {
+            List<Callable<Void>> workers = new ArrayList<>();
+            long perSegment = (total + segments - 1) / segments;
+            for (long first = 1; first <= total; first += perSegment)
+            {
+                long segmentFirst = first;
+                long segmentLast = Math.min(total, first + perSegment - 1);
+                workers.add(() -> writeSegment(channel, n, segmentFirst, segmentLast));
+            }
+            for (Future<Void> result : pool.invokeAll(workers))
+            {
+                result.get();
+            }
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while writing moves", e);
+        }
+        catch (ExecutionException e)
+        {
+            if (e.getCause() instanceof IOException)
+            {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException("Failed to write moves", e.getCause());
+        }
+        return total;
+    }
+
+    /**
+     * Writes moves first..last, mapping one window of the segment at a time.
+     */
+    private static Void writeSegment(FileChannel channel, int n, long first, long last) throws IOException
+    {
+        for (long windowFirst = first; windowFirst <= last; windowFirst += WINDOW_RECORDS)
+        {
+            long windowLast = Math.min(last, windowFirst + WINDOW_RECORDS - 1);
+            MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_WRITE,
+                    (windowFirst - 1) * RECORD_BYTES, (windowLast - windowFirst + 1) * RECORD_BYTES);
+            HanoiMoves.solveRange(n, windowFirst, windowLast,
+                    (disk, from, to) -> window.putShort((short) (disk << 4 | from << 2 | to)));
+        }
+        return null;
+    }
+
+    /**
+     * Writes the solution for a configurable number of disks (default 26)
+     * to a temporary file, reports the throughput and spot-checks a record.
+     */
+    public static void main(String[] args) throws IOException
+    {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 26;
+        Path file = Files.createTempFile("hanoi", ".bin");
+        try
+        {
+            long start = System.nanoTime();
+            long moves = new HanoiMoveWriter().write(n, file);
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf("Wrote %d moves in %.2f s (%.1f million moves/s)%n", moves, seconds,
+                    moves / seconds / 1e6);
+
+            long k = moves / 2 + 1;
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ))
+            {
+                int record = channel.map(FileChannel.MapMode.READ_ONLY, (k - 1) * RECORD_BYTES, RECORD_BYTES)
+                        .getShort();
+                System.out.println("Record " + k + " matches moveAt: " + (record == HanoiMoves.moveAt(n, k)));
+            }
+        }
+        finally
+        {
+            Files.delete(file);
+        }
+    }
+}
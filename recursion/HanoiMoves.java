@@ -0,0 +1,249 @@
+package recursion;
+
+/**
+ * Iterative, allocation-free Tower of Hanoi move generation and random access,
+ * as an alternative to the recursive {@link TowerOfHanoi#solveTowerOfHanoi(int, char, char, char)}.
+ *
+ * Rods are numbered 0 (source), 1 (auxiliary) and 2 (destination), and disks 1 (smallest)
+ * to n (largest). The optimal solution has a closed form based on the binary
+ * representation of the move number k (1-based):
+ * - The disk moved at move k is 1 + (number of trailing zero bits of k)
+ * - Disk d moves for the first time at move 2^(d-1) and then every 2^d moves, so after
+ *   k moves it has moved (k + 2^(d-1)) / 2^d times
+ * - Every disk always cycles through the rods in the same direction: disks with
+ *   n - d even go 0 -> 2 -> 1 -> 0, the others go 0 -> 1 -> 2 -> 0
+ *
+ * This gives O(1) work per move when enumerating and O(1) / O(n) random access to a
+ * single move / the full state, without generating the 2^n - 1 moves before it.
+ * Supports up to 63 disks, since move numbers are stored in a long.
+ */
+public class HanoiMoves
+{
+    /** Largest supported number of disks */
+    public static final int MAX_DISKS = 63;
+
+    /**
+     * Receives the moves of a solution as primitive values.
+     */
+    public interface MoveVisitor
+    {
+        /**
+         * Called once per move, in solution order.
+         *
+         * @param disk The disk being moved (1 = smallest)
+         * @param from The rod the disk leaves (0, 1 or 2)
+         * @param to The rod the disk is placed on (0, 1 or 2)
+         */
+        void move(int disk, int from, int to);
+    }
+
+    /**
+     * Returns the total number of moves for n disks.
+     *
+     * @param n The number of disks
+     * @return 2^n - 1
+     */
+    public static long moveCount(int n)
+    {
+        checkDisks(n);
+        return (1L << n) - 1;
+    }
+
+    /**
+     * Emits all moves for n disks in the same order as the recursive solution.
+     * Time Complexity: O(2^n), O(1) per move with no allocation per move
+     *
+     * @param n The number of disks (1 <= n <= 63)
+     * @param visitor Receives each move
+     *
+     * Logic:
+     * 1. Track the current rod of every disk and its fixed direction
+     * 2. For move m, the disk is 1 + trailing zeros of m
+     * 3. Move it one step in its direction
+     */
+    public static void solve(int n, MoveVisitor visitor)
+    {
+        checkDisks(n);
+        int[] rod = new int[n + 1];
+        int[] step = new int[n + 1];
+        for (int d = 1; d <= n; d++)
+        {
+            step[d] = stepOf(n, d);
+        }
+        long last = (1L << n) - 1;
+        // != instead of <=: for n = 63, last is Long.MAX_VALUE and last + 1 wraps to Long.MIN_VALUE
+        for (long m = 1; m != last + 1; m++)
+        {
+            int disk = Long.numberOfTrailingZeros(m) + 1;
+            int from = rod[disk];
+            int to = from + step[disk];
+            if (to >= 3)
+            {
+                to -= 3;
+            }
+            rod[disk] = to;
+            visitor.move(disk, from, to);
+        }
+    }
+
+    /**
+     * Emits the moves first..last of the solution for n disks.
+     * Because the state after any move is known in closed form, ranges of moves can be
+     * generated independently, e.g. by different threads.
+     * Time Complexity: O(n + (last - first)), O(1) per move with no allocation per move
+     *
+     * @param n The number of disks (1 <= n <= 63)
+     * @param first The first move to emit (1-based, inclusive)
+     * @param last The last move to emit (inclusive, at most 2^n - 1)
+     * @param visitor Receives each move
+     */
+    public static void solveRange(int n, long first, long last, MoveVisitor visitor)
+    {
+        checkDisks(n);
+        checkMove(n, first, 1);
+        checkMove(n, last, first - 1);
+        int[] rod = new int[n + 1];
+        int[] step = new int[n + 1];
+        for (int d = 1; d <= n; d++)
+        {
+            rod[d] = rodAfter(n, d, first - 1);
+            step[d] = stepOf(n, d);
+        }
+        for (long m = first; m != last + 1; m++)
+        {
+            int disk = Long.numberOfTrailingZeros(m) + 1;
+            int from = rod[disk];
+            int to = from + step[disk];
+            if (to >= 3)
+            {
+                to -= 3;
+            }
+            rod[disk] = to;
+            visitor.move(disk, from, to);
+        }
+    }
+
+    /**
+     * Returns move k of the solution for n disks, packed into an int.
+     * Use {@link #disk(int)}, {@link #from(int)} and {@link #to(int)} to unpack it.
+     * Time Complexity: O(1)
+     *
+     * @param n The number of disks (1 <= n <= 63)
+     * @param k The move number (1 <= k <= 2^n - 1)
+     * @return The packed move
+     */
+    public static int moveAt(int n, long k)
+    {
+        checkDisks(n);
+        checkMove(n, k, 1);
+        int disk = Long.numberOfTrailingZeros(k) + 1;
+        int from = rodAfter(n, disk, k - 1);
+        int to = (from + stepOf(n, disk)) % 3;
+        return disk << 4 | from << 2 | to;
+    }
+
+    /**
+     * Extracts the disk from a packed move.
+     *
+     * @param move A move returned by {@link #moveAt(int, long)}
+     * @return The disk number (1 = smallest)
+     */
+    public static int disk(int move)
+    {
+        return move >>> 4;
+    }
+
+    /**
+     * Extracts the source rod from a packed move.
+     *
+     * @param move A move returned by {@link #moveAt(int, long)}
+     * @return The rod the disk leaves
+     */
+    public static int from(int move)
+    {
+        return (move >>> 2) & 3;
+    }
+
+    /**
+     * Extracts the destination rod from a packed move.
+     *
+     * @param move A move returned by {@link #moveAt(int, long)}
+     * @return The rod the disk is placed on
+     */
+    public static int to(int move)
+    {
+        return move & 3;
+    }
+
+    /**
+     * Returns the rod of every disk after the first k moves.
+     * Time Complexity: O(n)
+     *
+     * @param n The number of disks (1 <= n <= 63)
+     * @param k The number of moves made (0 <= k <= 2^n - 1)
+     * @return An array where element d-1 is the rod of disk d
+     */
+    public static int[] stateAfter(int n, long k)
+    {
+        checkDisks(n);
+        checkMove(n, k, 0);
+        int[] rods = new int[n];
+        for (int d = 1; d <= n; d++)
+        {
+            rods[d - 1] = rodAfter(n, d, k);
+        }
+        return rods;
+    }
+
+    /**
+     * Returns the rod of disk d after the first k moves.
+     * The count (k + 2^(d-1)) / 2^d is computed unsigned so it cannot overflow for d = 63.
+     */
+    static int rodAfter(int n, int d, long k)
+    {
+        long moves = (k + (1L << (d - 1))) >>> d;
+        return (int) (moves % 3 * stepOf(n, d) % 3);
+    }
+
+    /**
+     * Returns 2 for disks cycling 0 -> 2 -> 1 and 1 for disks cycling 0 -> 1 -> 2.
+     */
+    static int stepOf(int n, int d)
+    {
+        return ((n - d) & 1) == 0 ? 2 : 1;
+    }
+
+    static void checkDisks(int n)
+    {
+        if (n < 1 || n > MAX_DISKS)
+        {
+            throw new IllegalArgumentException("Number of disks must be between 1 and " + MAX_DISKS + ": " + n);
+        }
+    }
+
+    private static void checkMove(int n, long k, long min)
+    {
+        if (k < min || k > (1L << n) - 1)
+        {
+            throw new IllegalArgumentException("Move " + k + " is outside [" + min + ", " + ((1L << n) - 1) + "]");
+        }
+    }
+
+    /**
+     * Demonstrates enumeration for 3 disks and random access for 60 disks.
+     */
+    public static void main(String[] args)
+    {
+        char[] names =
+        { 'A', 'B', 'C' };
+        solve(3, (disk, from, to) -> System.out.println("Move disk " + disk + " from " + names[from] + " to " + names[to]));
+
+        int n = 60;
+        long k = 123_456_789_012_345L;
+        int move = moveAt(n, k);
+        System.out.println("Move " + k + " of " + moveCount(n) + ": disk " + disk(move)
+                + " from " + names[from(move)] + " to " + names[to(move)]);
+        int[] rods = stateAfter(n, k);
+        System.out.println("Rods of disks 1..5 after that move: " + rods[0] + rods[1] + rods[2] + rods[3] + rods[4]);
+    }
+}
@@ -0,0 +1,286 @@
+package recursion;
+
+import java.math.BigInteger;
+
+/**
+ * Precomputed factorials modulo a prime for answering combinatorics queries in O(1).
+ * Building on {@link FactorialRecursion}, the factorials 0!..N! are computed once
+ * (mod p) together with their modular inverses, so that:
+ * - nCr = n! / (r! * (n-r)!)        becomes fact[n] * invFact[r] * invFact[n-r]
+ * - nPr = n! / (n-r)!               becomes fact[n] * invFact[n-r]
+ * - multinomial(k1..km) = n! / (k1! * ... * km!) becomes fact[n] * product of invFact[ki]
+ *
+ * The inverse factorials are built with a single Fermat inverse
+ * (invFact[N] = fact[N]^(p-2) mod p) followed by a backward pass
+ * invFact[i-1] = invFact[i] * i, instead of one modular exponentiation per entry.
+ *
+ * For n above the table size, binomials are answered with Lucas' theorem,
+ * which needs the table to cover all residues 0..p-1 (i.e. a small prime).
+ */
+public class ModularCombinatorics
+{
+    /** The prime modulus */
+    private final int prime;
+    /** Largest n covered by the tables, at most prime-1 */
+    private final int limit;
+    /** fact[i] = i! mod prime */
+    private final int[] fact;
+    /** invFact[i] = (i!)^-1 mod prime */
+    private final int[] invFact;
+
+    /**
+     * Precomputes factorials and inverse factorials up to maxN modulo prime.
+     * Time Complexity: O(maxN + log prime)
+     * Space Complexity: O(maxN)
+     *
+     * @param maxN The largest n to precompute (n >= 0), capped at prime-1
+     * @param prime The prime modulus
+     * @throws IllegalArgumentException if maxN is negative or prime is not prime
+     */
+    public ModularCombinatorics(int maxN, int prime)
+    {
+        if (maxN < 0)
+        {
+            throw new IllegalArgumentException("maxN must be non-negative: " + maxN);
+        }
+        if (prime < 2 || !BigInteger.valueOf(prime).isProbablePrime(30))
+        {
+            throw new IllegalArgumentException("Modulus must be prime: " + prime);
+        }
+        this.prime = prime;
+        // n! is 0 mod p for n >= p and has no inverse, so the tables stop at p-1
+        this.limit = (int) Math.min(maxN, prime - 1L);
+        this.fact = new int[limit + 1];
+        this.invFact = new int[limit + 1];
+
+        fact[0] = 1;
+        for (int i = 1; i <= limit; i++)
+        {
+            fact[i] = (int) ((long) fact[i - 1] * i % prime);
+        }
+        invFact[limit] = (int) power(fact[limit], prime - 2);
+        for (int i = limit; i > 0; i--)
+        {
+            invFact[i - 1] = (int) ((long) invFact[i] * i % prime);
+        }
+    }
+
+    /**
+     * Returns the prime modulus.
+     *
+     * @return The modulus used by all queries
+     */
+    public int getPrime()
+    {
+        return prime;
+    }
+
+    /**
+     * Returns the largest n served directly from the tables.
+     *
+     * @return The table limit
+     */
+    public int getLimit()
+    {
+        return limit;
+    }
+
+    /**
+     * Returns n! mod p.
+     * Time Complexity: O(1)
+     *
+     * @param n The number to calculate factorial for (n >= 0)
+     * @return n! mod p
+     *
+     * Base case: n >= p gives 0, since p is one of the factors
+     */
+    public int factorial(int n)
+    {
+        if (n < 0)
+        {
+            throw new IllegalArgumentException("Factorial is undefined for negative numbers: " + n);
+        }
+        if (n >= prime)
+        {
+            return 0;
+        }
+        checkInTable(n);
+        return fact[n];
+    }
+
+    /**
+     * Returns the inverse of n! mod p.
+     * Time Complexity: O(1)
+     *
+     * @param n The number whose factorial to invert (0 <= n <= limit)
+     * @return (n!)^-1 mod p
+     */
+    public int inverseFactorial(int n)
+    {
+        checkInTable(n);
+        return invFact[n];
+    }
+
+    /**
+     * Returns the binomial coefficient C(n, r) mod p.
+     * Time Complexity: O(1) for n <= limit, O(log_p n) otherwise
+     *
+     * @param n The size of the set
+     * @param r The number of elements to choose
+     * @return C(n, r) mod p, or 0 when r < 0 or r > n
+     */
+    public int nCr(int n, int r)
+    {
+        if (r < 0 || r > n)
+        {
+            return 0;
+        }
+        if (n <= limit)
+        {
+            return (int) ((long) fact[n] * invFact[r] % prime * invFact[n - r] % prime);
+        }
+        return lucas(n, r);
+    }
+
+    /**
+     * Returns the binomial coefficient C(n, r) mod p for n beyond the int range.
+     * Time Complexity: O(log_p n)
+     *
+     * @param n The size of the set
+     * @param r The number of elements to choose
+     * @return C(n, r) mod p, or 0 when r < 0 or r > n
+     */
+    public int nCr(long n, long r)
+    {
+        if (r < 0 || r > n)
+        {
+            return 0;
+        }
+        if (n <= limit)
+        {
+            return nCr((int) n, (int) r);
+        }
+        return lucas(n, r);
+    }
+
+    /**
+     * Returns the number of r-permutations of n elements, n! / (n-r)!, mod p.
+     * Time Complexity: O(1)
+     *
+     * @param n The size of the set (n <= limit)
+     * @param r The number of elements to arrange
+     * @return P(n, r) mod p, or 0 when r < 0 or r > n
+     */
+    public int nPr(int n, int r)
+    {
+        if (r < 0 || r > n)
+        {
+            return 0;
+        }
+        checkInTable(n);
+        return (int) ((long) fact[n] * invFact[n - r] % prime);
+    }
+
+    /**
+     * Returns the multinomial coefficient (k1 + ... + km)! / (k1! * ... * km!) mod p.
+     * Time Complexity: O(m)
+     *
+     * @param parts The group sizes (each >= 0, total <= limit)
+     * @return The multinomial coefficient mod p
+     */
+    public int multinomial(int... parts)
+    {
+        long total = 0;
+        for (int part : parts)
+        {
+            if (part < 0)
+            {
+                throw new IllegalArgumentException("Group sizes must be non-negative: " + part);
+            }
+            total += part;
+        }
+        if (total > limit)
+        {
+            throw new IllegalArgumentException("Total " + total + " exceeds the table limit " + limit);
+        }
+        long result = fact[(int) total];
+        for (int part : parts)
+        {
+            result = result * invFact[part] % prime;
+        }
+        return (int) result;
+    }
+
+    /**
+     * Lucas' theorem: C(n, r) mod p is the product of C(n_i, r_i) mod p over the
+     * base-p digits n_i and r_i of n and r.
+     *
+     * Base case: a digit with r_i > n_i makes the whole product 0
+     * Logic: peel off one base-p digit at a time and look it up in the tables
+     */
+    private int lucas(long n, long r)
+    {
+        if (limit < prime - 1)
+        {
+            throw new IllegalArgumentException("n = " + n + " exceeds the table limit " + limit
+                    + " and Lucas' theorem needs tables up to p-1 = " + (prime - 1));
+        }
+        long result = 1;
+        while (n > 0 || r > 0)
+        {
+            int ni = (int) (n % prime);
+            int ri = (int) (r % prime);
+            if (ri > ni)
+            {
+                return 0;
+            }
+            result = result * fact[ni] % prime * invFact[ri] % prime * invFact[ni - ri] % prime;
+            n /= prime;
+            r /= prime;
+        }
+        return (int) result;
+    }
+
+    /**
+     * Computes base^exponent mod p by repeated squaring.
+     */
+    private long power(long base, long exponent)
+    {
+        long result = 1;
+        base %= prime;
+        while (exponent > 0)
+        {
+            if ((exponent & 1) == 1)
+            {
+                result = result * base % prime;
+            }
+            base = base * base % prime;
+            exponent >>= 1;
+        }
+        return result;
+    }
+
+    private void checkInTable(int n)
+    {
+        if (n < 0 || n > limit)
+        {
+            throw new IllegalArgumentException("n = " + n + " is outside the precomputed range [0, " + limit + "]");
+        }
+    }
+
+    /**
+     * Demonstrates table-backed queries with a large prime
+     * and Lucas' theorem with a small prime.
+     */
+    public static void main(String[] args)
+    {
+        ModularCombinatorics combinatorics = new ModularCombinatorics(1_000_000, 1_000_000_007);
+        System.out.println("C(10, 3) = " + combinatorics.nCr(10, 3));
+        System.out.println("P(10, 3) = " + combinatorics.nPr(10, 3));
+        System.out.println("multinomial(2, 3, 5) = " + combinatorics.multinomial(2, 3, 5));
+        System.out.println("C(1000000, 500000) mod 1e9+7 = " + combinatorics.nCr(1_000_000, 500_000));
+
+        ModularCombinatorics small = new ModularCombinatorics(12, 13);
+        System.out.println("C(10^18, 10^9) mod 13 = " + small.nCr(1_000_000_000_000_000_000L, 1_000_000_000L));
+    }
+}
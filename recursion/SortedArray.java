@@ -1,5 +1,8 @@
 package recursion;
 
+import java.io.IOException;
+import java.nio.file.Path;
+
 /**
  * This class provides functionality to check if an array is sorted in ascending order
  * using recursion. It compares adjacent elements to determine if they are in order.
@@ -29,6 +32,44 @@ public class SortedArray
         return arr[index] < arr[index + 1] && isSorted(arr, index + 1);
     }
 
+    /**
+     * Iterative version of {@link #isSorted(int[], int)} that does not grow the call stack.
+     * The recursive call is in tail position, so no frame has to be kept for it and the
+     * recursion becomes a plain loop. This handles arrays of any length without -Xss tuning.
+     * Time Complexity: O(n)
+     * Space Complexity: O(1)
+     * 
+     * @param arr The array to check
+     * @param index The index to start checking from
+     * @return true if the array is sorted from index onwards, false otherwise
+     */
+    public static boolean isSortedIterative(int[] arr, int index)
+    {
+        for (int i = index; i < arr.length - 1; i++)
+        {
+            if (arr[i] >= arr[i + 1])
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks if a binary file of big-endian ints is sorted in strictly ascending order,
+     * using the same rule as {@link #isSorted(int[], int)}.
+     * The file is memory-mapped and streamed in windows instead of being loaded into an int[],
+     * see {@link SortedFileChecker} for other orders, long files and violation reports.
+     * 
+     * @param file The file to check
+     * @return true if the values in the file are sorted, false otherwise
+     * @throws IOException if the file cannot be read
+     */
+    public static boolean isSortedFile(Path file) throws IOException
+    {
+        return new SortedFileChecker(SortednessChecker.Order.ASCENDING, true).checkIntFile(file).isSorted();
+    }
+
     /**
      * Main method to demonstrate array sorting check.
      * Tests the isSorted method with a sample array.
@@ -38,5 +79,12 @@ public class SortedArray
         int[] arr =
         { 1, 2, 6, 4, 5 };
         System.out.println(isSorted(arr, 0));
+
+        int[] large = new int[10_000_000];
+        for (int i = 0; i < large.length; i++)
+        {
+            large[i] = i;
+        }
+        System.out.println(isSortedIterative(large, 0));
     }
 }
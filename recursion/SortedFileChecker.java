@@ -0,0 +1,225 @@
+package recursion;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import recursion.SortednessChecker.Order;
+import recursion.SortednessChecker.Report;
+
+/**
+ * Verifies the sortedness of binary files of fixed-width int or long values
+ * without loading them into the heap.
+ *
+ * The file is memory-mapped one window at a time with {@link FileChannel#map}, so the
+ * operating system pages the data in directly and there is no intermediate copy into
+ * an int[] or a read buffer. Each window is checked in parallel chunks, and only the
+ * last element of a window is carried over to compare it with the first element of
+ * the next one.
+ *
+ * Example: a 40 GB file of longs is checked with a few windows of 256 MB mapped at a
+ * time, independent of the maximum heap size.
+ */
+public class SortedFileChecker
+{
+    /** Default window size, a multiple of both element sizes */
+    private static final int DEFAULT_WINDOW_BYTES = 1 << 28;
+
+    /** Comparison rules shared with the in-memory checker */
+    private final SortednessChecker checker;
+    /** Byte order of the values in the file */
+    private final ByteOrder byteOrder;
+    /** Number of bytes mapped at once */
+    private final int windowBytes;
+
+    /**
+     * Creates a checker for big-endian files using the default window size.
+     *
+     * @param order The expected direction
+     * @param strict true to reject equal neighbours, false to allow them
+     */
+    public SortedFileChecker(Order order, boolean strict)
+    {
+        this(order, strict, ByteOrder.BIG_ENDIAN, DEFAULT_WINDOW_BYTES);
+    }
+
+    /**
+     * Creates a checker with an explicit byte order and window size.
+     *
+     * @param order The expected direction
+     * @param strict true to reject equal neighbours, false to allow them
+     * @param byteOrder The byte order the values were written in
+     * @param windowBytes The number of bytes to map at once (at least 8)
+     */
+    public SortedFileChecker(Order order, boolean strict, ByteOrder byteOrder, int windowBytes)
+    {
+        if (windowBytes < Long.BYTES)
+        {
+            throw new IllegalArgumentException("Window must hold at least one long: " + windowBytes);
+        }
+        this.checker = new SortednessChecker(order, strict);
+        this.byteOrder = byteOrder;
+        // keep windows aligned to whole elements of either width
+        this.windowBytes = windowBytes - windowBytes % Long.BYTES;
+    }
+
+    /**
+     * Checks a file of consecutive 4-byte int values.
+     * Time Complexity: O(n), Heap Space: O(1)
+     *
+     * @param file The file to check
+     * @return The report with absolute element indices
+     * @throws IOException if the file cannot be mapped or its size is not a multiple of 4
+     */
+    public Report checkIntFile(Path file) throws IOException
+    {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ))
+        {
+            long count = elementCount(channel, Integer.BYTES);
+            int windowElements = windowBytes / Integer.BYTES;
+            Report total = Report.SORTED;
+            int previous = 0;
+            for (long start = 0; start < count; start += windowElements)
+            {
+                int length = (int) Math.min(windowElements, count - start);
+                MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY,
+                        start * Integer.BYTES, (long) length * Integer.BYTES);
+                IntBuffer window = mapped.order(byteOrder).asIntBuffer();
+
+                // boundary pair between the previous window and this one
+                if (start > 0 && checker.violates(Integer.compare(previous, window.get(0))))
+                {
+                    total = total.merge(new Report(start - 1, 1));
+                }
+                Report report = SortednessChecker.parallel((from, to) -> scan(window, from, to), length - 1);
+                total = total.merge(report.offset(start));
+                previous = window.get(length - 1);
+            }
+            return total;
+        }
+    }
+
+    /**
+     * Checks a file of consecutive 8-byte long values.
+     * Time Complexity: O(n), Heap Space: O(1)
+     *
+     * @param file The file to check
+     * @return The report with absolute element indices
+     * @throws IOException if the file cannot be mapped or its size is not a multiple of 8
+     */
+    public Report checkLongFile(Path file) throws IOException
+    {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ))
+        {
+            long count = elementCount(channel, Long.BYTES);
+            int windowElements = windowBytes / Long.BYTES;
+            Report total = Report.SORTED;
+            long previous = 0;
+            for (long start = 0; start < count; start += windowElements)
+            {
+                int length = (int) Math.min(windowElements, count - start);
+                MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY,
+                        start * Long.BYTES, (long) length * Long.BYTES);
+                LongBuffer window = mapped.order(byteOrder).asLongBuffer();
+
+                // boundary pair between the previous window and this one
+                if (start > 0 && checker.violates(Long.compare(previous, window.get(0))))
+                {
+                    total = total.merge(new Report(start - 1, 1));
+                }
+                Report report = SortednessChecker.parallel((from, to) -> scan(window, from, to), length - 1);
+                total = total.merge(report.offset(start));
+                previous = window.get(length - 1);
+            }
+            return total;
+        }
+    }
+
+    /**
+     * Scans the pairs (i, i+1) for from <= i < to using absolute gets,
+     * which are safe for concurrent readers of the same buffer.
+     */
+    private Report scan(IntBuffer window, int from, int to)
+    {
+        long first = -1;
+        long descents = 0;
+        for (int i = from; i < to; i++)
+        {
+            if (checker.violates(Integer.compare(window.get(i), window.get(i + 1))))
+            {
+                if (first < 0)
+                {
+                    first = i;
+                }
+                descents++;
+            }
+        }
+        return descents == 0 ? Report.SORTED : new Report(first, descents);
+    }
+
+    /**
+     * Scans the pairs (i, i+1) for from <= i < to using absolute gets,
+     * which are safe for concurrent readers of the same buffer.
+     */
+    private Report scan(LongBuffer window, int from, int to)
+    {
+        long first = -1;
+        long descents = 0;
+        for (int i = from; i < to; i++)
+        {
+            if (checker.violates(Long.compare(window.get(i), window.get(i + 1))))
+            {
+                if (first < 0)
+                {
+                    first = i;
+                }
+                descents++;
+            }
+        }
+        return descents == 0 ? Report.SORTED : new Report(first, descents);
+    }
+
+    private static long elementCount(FileChannel channel, int elementSize) throws IOException
+    {
+        long size = channel.size();
+        if (size % elementSize != 0)
+        {
+            throw new IOException("File size " + size + " is not a multiple of " + elementSize + " bytes");
+        }
+        return size / elementSize;
+    }
+
+    /**
+     * Demonstrates the check on a temporary file of ints spanning several
+     * small windows, with one violation placed across a window boundary.
+     */
+    public static void main(String[] args) throws IOException
+    {
+        Path file = Files.createTempFile("sorted", ".bin");
+        try
+        {
+            int count = 1_000_000;
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE))
+            {
+                IntBuffer out = channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) count * Integer.BYTES)
+                        .asIntBuffer();
+                for (int i = 0; i < count; i++)
+                {
+                    out.put(i == 1 << 16 ? 0 : i);
+                }
+            }
+            SortedFileChecker checker = new SortedFileChecker(Order.ASCENDING, true, ByteOrder.BIG_ENDIAN, 1 << 18);
+            System.out.println(checker.checkIntFile(file));
+        }
+        finally
+        {
+            Files.delete(file);
+        }
+    }
+}
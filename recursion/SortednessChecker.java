@@ -0,0 +1,546 @@
+package recursion;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Configurable sortedness checks that complement {@link SortedArray#isSorted(int[], int)}.
+ * Where the recursive version only answers "strictly ascending or not", this class supports:
+ * - Ascending and descending order
+ * - Strict (no equal neighbours) and non-strict comparison
+ * - int[], long[], double[] and Comparable[] arrays
+ * - A {@link Report} with the first violation index and the total number of descents
+ * - Parallel evaluation that splits the array into chunks on a ForkJoinPool
+ *
+ * A "descent" is a pair of adjacent elements (arr[i], arr[i+1]) that violates the
+ * requested order; the array is sorted exactly when there are no descents.
+ *
+ * The scan loops compare each element with its neighbour using a single compare,
+ * orientation multiply and threshold test, with no per-element mode switch, so the
+ * JIT keeps them tight and the check runs at close to memory bandwidth.
+ * When the JVM runs with --add-modules jdk.incubator.vector, the int[], long[] and double[]
+ * scans use the SIMD loops of {@link SortednessVectors} instead, which compare a whole
+ * vector of adjacent pairs per instruction; without the module the scalar loops are used.
+ * Doubles are compared with {@link Double#compare(double, double)}, so NaN sorts last
+ * and -0.0 sorts before 0.0.
+ */
+public class SortednessChecker
+{
+    /** Chunks with at most this many pairs are scanned sequentially */
+    private static final int PARALLEL_THRESHOLD = 1 << 16;
+    /** true if the Vector API module was resolved at startup and the SIMD loops can be used */
+    static final boolean VECTORIZED = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+
+    /**
+     * The direction the array is expected to be sorted in.
+     */
+    public enum Order
+    {
+        ASCENDING, DESCENDING
+    }
+
+    /**
+     * The result of a full sortedness check.
+     */
+    public static final class Report
+    {
+        /** Report of an array with no descents */
+        static final Report SORTED = new Report(-1, 0);
+
+        /** Index i of the first pair (arr[i], arr[i+1]) violating the order, -1 if sorted */
+        private final long firstViolation;
+        /** Number of adjacent pairs violating the order */
+        private final long descents;
+
+        Report(long firstViolation, long descents)
+        {
+            this.firstViolation = firstViolation;
+            this.descents = descents;
+        }
+
+        /**
+         * Returns the index of the first element that is out of order with its successor.
+         *
+         * @return The first violation index, or -1 if the array is sorted
+         */
+        public long getFirstViolation()
+        {
+            return firstViolation;
+        }
+
+        /**
+         * Returns the number of adjacent pairs that violate the order.
+         *
+         * @return The descent count
+         */
+        public long getDescents()
+        {
+            return descents;
+        }
+
+        /**
+         * Checks whether the array had no violations.
+         *
+         * @return true if the array is sorted, false otherwise
+         */
+        public boolean isSorted()
+        {
+            return descents == 0;
+        }
+
+        /**
+         * Combines the report of a range with the report of the range right after it.
+         *
+         * @param next The report of the following range
+         * @return The report of both ranges together
+         */
+        Report merge(Report next)
+        {
+            if (next.descents == 0)
+            {
+                return this;
+            }
+            if (descents == 0)
+            {
+                return next;
+            }
+            return new Report(firstViolation, descents + next.descents);
+        }
+
+        /**
+         * Shifts the violation index of a report computed on a sub-range.
+         *
+         * @param delta The absolute index of the sub-range's first element
+         * @return The report with absolute indices
+         */
+        Report offset(long delta)
+        {
+            return descents == 0 ? this : new Report(firstViolation + delta, descents);
+        }
+
+        @Override
+        public String toString()
+        {
+            return "Report{" + "firstViolation=" + firstViolation + ", descents=" + descents + '}';
+        }
+    }
+
+    /**
+     * Scans the pairs (i, i+1) for i in a half-open range.
+     * Implemented once per array type so every scan loop is monomorphic.
+     */
+    interface RangeScanner
+    {
+        Report scan(int from, int to);
+    }
+
+    /** 1 when comparing as-is (ascending), -1 when comparing reversed (descending) */
+    private final int direction;
+    /** An oriented comparison result above this value is a violation */
+    private final int threshold;
+    /** The mode again in the form the SIMD loops take */
+    private final boolean ascending;
+    private final boolean strict;
+
+    /**
+     * Creates a checker for the given order.
+     *
+     * @param order The expected direction
+     * @param strict true to reject equal neighbours, false to allow them
+     */
+    public SortednessChecker(Order order, boolean strict)
+    {
+        this.direction = order == Order.ASCENDING ? 1 : -1;
+        // strict: compare must be < 0, so anything >= 0 (i.e. > -1) is a violation
+        this.threshold = strict ? -1 : 0;
+        this.ascending = order == Order.ASCENDING;
+        this.strict = strict;
+    }
+
+    /**
+     * Checks the order with early exit at the first violation.
+     * Time Complexity: O(n) worst case
+     *
+     * @param arr The array to check
+     * @return true if the array is sorted, false otherwise
+     */
+    public boolean isSorted(int[] arr)
+    {
+        if (VECTORIZED)
+        {
+            return SortednessVectors.isSorted(arr, 0, arr.length - 1, this, ascending, strict);
+        }
+        for (int i = 0; i < arr.length - 1; i++)
+        {
+            if (Integer.compare(arr[i], arr[i + 1]) * direction > threshold)
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks the order with early exit at the first violation.
+     *
+     * @param arr The array to check
+     * @return true if the array is sorted, false otherwise
+     */
+    public boolean isSorted(long[] arr)
+    {
+        if (VECTORIZED)
+        {
+            return SortednessVectors.isSorted(arr, 0, arr.length - 1, this, ascending, strict);
+        }
+        for (int i = 0; i < arr.length - 1; i++)
+        {
+            if (Long.compare(arr[i], arr[i + 1]) * direction > threshold)
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks the order with early exit at the first violation.
+     *
+     * @param arr The array to check
+     * @return true if the array is sorted, false otherwise
+     */
+    public boolean isSorted(double[] arr)
+    {
+        if (VECTORIZED)
+        {
+            return scan(arr, 0, arr.length - 1).isSorted();
+        }
+        for (int i = 0; i < arr.length - 1; i++)
+        {
+            if (Double.compare(arr[i], arr[i + 1]) * direction > threshold)
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks the order with early exit at the first violation.
+     *
+     * @param arr The array to check (no null elements)
+     * @return true if the array is sorted, false otherwise
+     */
+    public <T extends Comparable<? super T>> boolean isSorted(T[] arr)
+    {
+        for (int i = 0; i < arr.length - 1; i++)
+        {
+            if (Integer.signum(arr[i].compareTo(arr[i + 1])) * direction > threshold)
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Scans the whole array and reports the first violation and the descent count.
+     * Time Complexity: O(n)
+     *
+     * @param arr The array to check
+     * @return The report for the array
+     */
+    public Report check(int[] arr)
+    {
+        return scan(arr, 0, arr.length - 1);
+    }
+
+    /**
+     * Scans the whole array and reports the first violation and the descent count.
+     *
+     * @param arr The array to check
+     * @return The report for the array
+     */
+    public Report check(long[] arr)
+    {
+        return scan(arr, 0, arr.length - 1);
+    }
+
+    /**
+     * Scans the whole array and reports the first violation and the descent count.
+     *
+     * @param arr The array to check
+     * @return The report for the array
+     */
+    public Report check(double[] arr)
+    {
+        return scan(arr, 0, arr.length - 1);
+    }
+
+    /**
+     * Scans the whole array and reports the first violation and the descent count.
+     *
+     * @param arr The array to check (no null elements)
+     * @return The report for the array
+     */
+    public <T extends Comparable<? super T>> Report check(T[] arr)
+    {
+        return scan(arr, 0, arr.length - 1);
+    }
+
+    /**
+     * Parallel version of {@link #check(int[])} using the common ForkJoinPool.
+     * Time Complexity: O(n / p) with p worker threads
+     *
+     * @param arr The array to check
+     * @return The report for the array
+     */
+    public Report checkParallel(int[] arr)
+    {
+        return parallel((from, to) -> scan(arr, from, to), arr.length - 1);
+    }
+
+    /**
+     * Parallel version of {@link #check(long[])} using the common ForkJoinPool.
+     *
+     * @param arr The array to check
+     * @return The report for the array
+     */
+    public Report checkParallel(long[] arr)
+    {
+        return parallel((from, to) -> scan(arr, from, to), arr.length - 1);
+    }
+
+    /**
+     * Parallel version of {@link #check(double[])} using the common ForkJoinPool.
+     *
+     * @param arr The array to check
+     * @return The report for the array
+     */
+    public Report checkParallel(double[] arr)
+    {
+        return parallel((from, to) -> scan(arr, from, to), arr.length - 1);
+    }
+
+    /**
+     * Parallel version of {@link #check(Comparable[])} using the common ForkJoinPool.
+     *
+     * @param arr The array to check (no null elements)
+     * @return The report for the array
+     */
+    public <T extends Comparable<? super T>> Report checkParallel(T[] arr)
+    {
+        return parallel((from, to) -> scan(arr, from, to), arr.length - 1);
+    }
+
+    /**
+     * Scans the pairs (i, i+1) for from <= i < to, with the SIMD loop when available.
+     */
+    Report scan(int[] arr, int from, int to)
+    {
+        if (VECTORIZED && to > from)
+        {
+            return SortednessVectors.scan(arr, from, to, this, ascending, strict);
+        }
+        return scanScalar(arr, from, to);
+    }
+
+    /**
+     * Scans the pairs (i, i+1) for from <= i < to one pair at a time.
+     */
+    Report scanScalar(int[] arr, int from, int to)
+    {
+        long first = -1;
+        long descents = 0;
+        for (int i = from; i < to; i++)
+        {
+            if (Integer.compare(arr[i], arr[i + 1]) * direction > threshold)
+            {
+                if (first < 0)
+                {
+                    first = i;
+                }
+                descents++;
+            }
+        }
+        return descents == 0 ? Report.SORTED : new Report(first, descents);
+    }
+
+    /**
+     * Scans the pairs (i, i+1) for from <= i < to, with the SIMD loop when available.
+     */
+    Report scan(long[] arr, int from, int to)
+    {
+        if (VECTORIZED && to > from)
+        {
+            return SortednessVectors.scan(arr, from, to, this, ascending, strict);
+        }
+        return scanScalar(arr, from, to);
+    }
+
+    /**
+     * Scans the pairs (i, i+1) for from <= i < to one pair at a time.
+     */
+    Report scanScalar(long[] arr, int from, int to)
+    {
+        long first = -1;
+        long descents = 0;
+        for (int i = from; i < to; i++)
+        {
+            if (Long.compare(arr[i], arr[i + 1]) * direction > threshold)
+            {
+                if (first < 0)
+                {
+                    first = i;
+                }
+                descents++;
+            }
+        }
+        return descents == 0 ? Report.SORTED : new Report(first, descents);
+    }
+
+    /**
+     * Scans the pairs (i, i+1) for from <= i < to, with the SIMD loop when available.
+     */
+    Report scan(double[] arr, int from, int to)
+    {
+        if (VECTORIZED && to > from)
+        {
+            return SortednessVectors.scan(arr, from, to, this, ascending, strict);
+        }
+        return scanScalar(arr, from, to);
+    }
+
+    /**
+     * Scans the pairs (i, i+1) for from <= i < to one pair at a time.
+     */
+    Report scanScalar(double[] arr, int from, int to)
+    {
+        long first = -1;
+        long descents = 0;
+        for (int i = from; i < to; i++)
+        {
+            if (Double.compare(arr[i], arr[i + 1]) * direction > threshold)
+            {
+                if (first < 0)
+                {
+                    first = i;
+                }
+                descents++;
+            }
+        }
+        return descents == 0 ? Report.SORTED : new Report(first, descents);
+    }
+
+    /**
+     * Scans the pairs (i, i+1) for from <= i < to.
+     */
+    <T extends Comparable<? super T>> Report scan(T[] arr, int from, int to)
+    {
+        long first = -1;
+        long descents = 0;
+        for (int i = from; i < to; i++)
+        {
+            if (Integer.signum(arr[i].compareTo(arr[i + 1])) * direction > threshold)
+            {
+                if (first < 0)
+                {
+                    first = i;
+                }
+                descents++;
+            }
+        }
+        return descents == 0 ? Report.SORTED : new Report(first, descents);
+    }
+
+    /**
+     * Returns whether an oriented comparison result is a violation.
+     * Lets other checkers in this package scan sources other than arrays.
+     */
+    boolean violates(int compareResult)
+    {
+        return compareResult * direction > threshold;
+    }
+
+    /**
+     * Evaluates the pairs [0, pairs) in parallel chunks.
+     */
+    static Report parallel(RangeScanner scanner, int pairs)
+    {
+        if (pairs <= 0)
+        {
+            return Report.SORTED;
+        }
+        if (pairs <= PARALLEL_THRESHOLD)
+        {
+            return scanner.scan(0, pairs);
+        }
+        return ForkJoinPool.commonPool().invoke(new ScanTask(scanner, 0, pairs));
+    }
+
+    /**
+     * Splits a range of pairs in half until it is small enough to scan directly.
+     * The left report is merged first so the first violation stays the leftmost one.
+     */
+    @SuppressWarnings("serial")
+    private static class ScanTask extends RecursiveTask<Report>
+    {
+        private final RangeScanner scanner;
+        private final int from;
+        private final int to;
+
+        ScanTask(RangeScanner scanner, int from, int to)
+        {
+            this.scanner = scanner;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Report compute()
+        {
+            if (to - from <= PARALLEL_THRESHOLD)
+            {
+                return scanner.scan(from, to);
+            }
+            int mid = (from + to) >>> 1;
+            ScanTask left = new ScanTask(scanner, from, mid);
+            left.fork();
+            Report right = new ScanTask(scanner, mid, to).compute();
+            return left.join().merge(right);
+        }
+    }
+
+    /**
+     * Demonstrates the different modes on small arrays and
+     * a parallel check of a large array with a few planted violations.
+     */
+    public static void main(String[] args)
+    {
+        int[] arr =
+        { 1, 2, 2, 6, 4, 5 };
+        System.out.println("Strict ascending:     " + new SortednessChecker(Order.ASCENDING, true).check(arr));
+        System.out.println("Non-strict ascending: " + new SortednessChecker(Order.ASCENDING, false).check(arr));
+
+        double[] descending =
+        { 9.5, 7.25, 7.25, 1.0 };
+        System.out.println("Non-strict descending: "
+                + new SortednessChecker(Order.DESCENDING, false).isSorted(descending));
+
+        String[] words =
+        { "apple", "banana", "cherry" };
+        System.out.println("Strict ascending words: " + new SortednessChecker(Order.ASCENDING, true).isSorted(words));
+
+        long[] large = new long[50_000_000];
+        for (int i = 0; i < large.length; i++)
+        {
+            large[i] = i;
+        }
+        large[30_000_000] = 0;
+        large[40_000_000] = 0;
+        long start = System.nanoTime();
+        Report report = new SortednessChecker(Order.ASCENDING, false).checkParallel(large);
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        System.out.println("Parallel check of " + large.length + " longs: " + report + " in " + millis + " ms"
+                + (VECTORIZED ? " (SIMD)" : " (scalar)"));
+    }
+}
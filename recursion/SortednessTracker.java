@@ -0,0 +1,260 @@
+package recursion;
+
+/**
+ * A wrapper around an int array that keeps track of whether the array is sorted
+ * while it is being modified, complementing {@link SortedArray#isSorted(int[], int)}.
+ *
+ * Instead of rescanning all n elements after every change, the tracker maintains the
+ * number of adjacent descents (pairs arr[i], arr[i+1] that are out of order).
+ * Changing one element can only affect the two pairs it belongs to, so:
+ * - isSorted() is O(1): the array is sorted exactly when there are no descents
+ * - set(i, v) is O(1): subtract the old contribution of the two pairs, write, add it back
+ * - addToRange(from, to, delta) updates the values in O(k) but the descent count in O(1),
+ *   because adding the same amount to a block leaves every pair inside it unchanged and
+ *   only the two pairs at the block edges need to be re-evaluated; if a value wraps around
+ *   the int range that no longer holds, and the descents are recounted in O(n)
+ * - reload(values) recounts in O(n)
+ */
+public class SortednessTracker
+{
+    /** The tracked values */
+    private final int[] values;
+    /** true if equal neighbours count as a descent */
+    private final boolean strict;
+    /** Number of indices i with (values[i], values[i+1]) out of order */
+    private int descents;
+
+    /**
+     * Creates a tracker over a copy of the given values using strict ascending
+     * order, like {@link SortedArray#isSorted(int[], int)}.
+     *
+     * @param initial The initial values
+     */
+    public SortednessTracker(int[] initial)
+    {
+        this(initial, true);
+    }
+
+    /**
+     * Creates a tracker over a copy of the given values.
+     * Time Complexity: O(n)
+     *
+     * @param initial The initial values
+     * @param strict true to require strictly ascending values, false to allow equal neighbours
+     */
+    public SortednessTracker(int[] initial, boolean strict)
+    {
+        this.values = initial.clone();
+        this.strict = strict;
+        this.descents = countAll();
+    }
+
+    /**
+     * Checks whether the values are currently in ascending order.
+     * Time Complexity: O(1)
+     *
+     * @return true if there are no descents, false otherwise
+     */
+    public boolean isSorted()
+    {
+        return descents == 0;
+    }
+
+    /**
+     * Returns the number of adjacent pairs that are out of order.
+     * Time Complexity: O(1)
+     *
+     * @return The descent count
+     */
+    public int descentCount()
+    {
+        return descents;
+    }
+
+    /**
+     * Returns the number of tracked values.
+     *
+     * @return The array length
+     */
+    public int length()
+    {
+        return values.length;
+    }
+
+    /**
+     * Returns the value at the given index.
+     *
+     * @param index The index to read (0-based)
+     * @return The value at index
+     */
+    public int get(int index)
+    {
+        return values[index];
+    }
+
+    /**
+     * Updates one value and the descent count.
+     * Time Complexity: O(1)
+     *
+     * @param index The index to write (0-based)
+     * @param value The new value
+     *
+     * Logic:
+     * 1. Remove the contribution of pairs (index-1, index) and (index, index+1)
+     * 2. Write the value
+     * 3. Add the new contribution of the same two pairs
+     */
+    public void set(int index, int value)
+    {
+        descents -= descentAt(index - 1) + descentAt(index);
+        values[index] = value;
+        descents += descentAt(index - 1) + descentAt(index);
+    }
+
+    /**
+     * Adds delta to every value in [from, to), wrapping around on int overflow like +=.
+     * Time Complexity: O(k) for the writes, O(1) for the descent count (O(n) if a value wraps)
+     *
+     * @param from The first index to update (inclusive)
+     * @param to The end of the range (exclusive)
+     * @param delta The amount to add
+     *
+     * Logic:
+     * Pairs fully inside the range keep their order, so only the pair entering the
+     * range (from-1, from) and the pair leaving it (to-1, to) are re-evaluated.
+     * A value that wraps around changes its order with its neighbours inside the range,
+     * so an overflow is detected while writing and answered with a full recount.
+     */
+    public void addToRange(int from, int to, int delta)
+    {
+        checkRange(from, to);
+        if (from == to)
+        {
+            return;
+        }
+        descents -= descentAt(from - 1) + descentAt(to - 1);
+        boolean wrapped = false;
+        for (int i = from; i < to; i++)
+        {
+            int updated = values[i] + delta;
+            // overflow iff both operands have the sign opposite to the result
+            wrapped |= ((values[i] ^ updated) & (delta ^ updated)) < 0;
+            values[i] = updated;
+        }
+        if (wrapped)
+        {
+            descents = countAll();
+            return;
+        }
+        descents += descentAt(from - 1) + descentAt(to - 1);
+    }
+
+    /**
+     * Sets every value in [from, to) to the same value.
+     * Time Complexity: O(k)
+     *
+     * @param from The first index to update (inclusive)
+     * @param to The end of the range (exclusive)
+     * @param value The value to fill with
+     *
+     * Logic:
+     * Pairs inside the range become equal, so they are descents only in strict mode.
+     * Their old contributions are subtracted while writing, then the two edge pairs
+     * and the inside pairs are added back.
+     */
+    public void fillRange(int from, int to, int value)
+    {
+        checkRange(from, to);
+        if (from == to)
+        {
+            return;
+        }
+        descents -= descentAt(from - 1);
+        for (int i = from; i < to; i++)
+        {
+            descents -= descentAt(i);
+        }
+        for (int i = from; i < to; i++)
+        {
+            values[i] = value;
+        }
+        descents += descentAt(from - 1) + descentAt(to - 1);
+        if (strict)
+        {
+            descents += to - from - 1;
+        }
+    }
+
+    /**
+     * Replaces all values and recounts the descents.
+     * Time Complexity: O(n)
+     *
+     * @param newValues The new values (must have the same length)
+     */
+    public void reload(int[] newValues)
+    {
+        if (newValues.length != values.length)
+        {
+            throw new IllegalArgumentException("Expected " + values.length + " values but got " + newValues.length);
+        }
+        System.arraycopy(newValues, 0, values, 0, values.length);
+        descents = countAll();
+    }
+
+    /**
+     * Returns a copy of the tracked values.
+     *
+     * @return The current values
+     */
+    public int[] toArray()
+    {
+        return values.clone();
+    }
+
+    /**
+     * Returns 1 if the pair (i, i+1) is out of order, 0 otherwise or if the pair does not exist.
+     */
+    private int descentAt(int i)
+    {
+        if (i < 0 || i >= values.length - 1)
+        {
+            return 0;
+        }
+        return (strict ? values[i] >= values[i + 1] : values[i] > values[i + 1]) ? 1 : 0;
+    }
+
+    private int countAll()
+    {
+        int count = 0;
+        for (int i = 0; i < values.length - 1; i++)
+        {
+            count += descentAt(i);
+        }
+        return count;
+    }
+
+    private void checkRange(int from, int to)
+    {
+        if (from < 0 || to > values.length || from > to)
+        {
+            throw new IndexOutOfBoundsException("Invalid range [" + from + ", " + to + ") for length " + values.length);
+        }
+    }
+
+    /**
+     * Demonstrates point and range updates on a small array.
+     */
+    public static void main(String[] args)
+    {
+        SortednessTracker tracker = new SortednessTracker(new int[]
+        { 1, 2, 3, 4, 5 });
+        System.out.println("Initially sorted: " + tracker.isSorted());
+        tracker.set(2, 10);
+        System.out.println("After set(2, 10): sorted=" + tracker.isSorted() + ", descents=" + tracker.descentCount());
+        tracker.addToRange(3, 5, 20);
+        System.out.println("After adding 20 to [3, 5): sorted=" + tracker.isSorted());
+        tracker.fillRange(0, 2, 7);
+        System.out.println("After filling [0, 2) with 7: sorted=" + tracker.isSorted()
+                + ", descents=" + tracker.descentCount());
+    }
+}
@@ -0,0 +1,251 @@
+package recursion;
+
+import java.util.Random;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * SIMD scan loops for {@link SortednessChecker}, written with the incubating Vector API.
+ * Each step loads the lanes arr[i .. i+L) and the lanes shifted by one, arr[i+1 .. i+L+1),
+ * and compares them lane by lane, so L adjacent pairs are tested with one instruction:
+ * - The violation test is always a GT comparison, which the JIT only turns into a SIMD
+ *   instruction when the operator is a constant: a non-strict violation is first > second, a
+ *   strict one is !(second > first), where (first, second) is (left, right) for ascending order
+ *   and (right, left) for descending order
+ * - The descent count adds the mask's true count and the first violation is the mask's
+ *   first true lane
+ * - The pairs that do not fill a whole vector are scanned with the scalar loop
+ *
+ * Doubles are compared through their bits: for a non-NaN value, flipping all bits but the sign
+ * of a negative one gives a long that orders exactly like {@link Double#compare(double, double)},
+ * including -0.0 before 0.0. A vector step holding a NaN falls back to the scalar loop.
+ *
+ * The module is only present when the JVM runs with --add-modules jdk.incubator.vector;
+ * {@link SortednessChecker} checks that before it calls into this class, so this class is
+ * never loaded otherwise.
+ */
+final class SortednessVectors
+{
+    private static final VectorSpecies<Integer> INTS = IntVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Long> LONGS = LongVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Double> DOUBLES = DoubleVector.SPECIES_PREFERRED;
+
+    private SortednessVectors()
+    {
+    }
+
+    /**
+     * Returns the lanes whose pair (left, right) violates the order.
+     */
+    private static VectorMask<Integer> violations(IntVector left, IntVector right, boolean ascending, boolean strict)
+    {
+        IntVector first = ascending ? left : right;
+        IntVector second = ascending ? right : left;
+        return strict ? second.compare(VectorOperators.GT, first).not() : first.compare(VectorOperators.GT, second);
+    }
+
+    /**
+     * Returns the lanes whose pair (left, right) violates the order.
+     */
+    private static VectorMask<Long> violations(LongVector left, LongVector right, boolean ascending, boolean strict)
+    {
+        LongVector first = ascending ? left : right;
+        LongVector second = ascending ? right : left;
+        return strict ? second.compare(VectorOperators.GT, first).not() : first.compare(VectorOperators.GT, second);
+    }
+
+    /**
+     * Checks the pairs (i, i+1) for from <= i < to with early exit at the first violating vector.
+     */
+    static boolean isSorted(int[] arr, int from, int to, SortednessChecker checker, boolean ascending,
+            boolean strict)
+    {
+        int bound = from + INTS.loopBound(to - from);
+        int i = from;
+        for (; i < bound; i += INTS.length())
+        {
+            IntVector left = IntVector.fromArray(INTS, arr, i);
+            IntVector right = IntVector.fromArray(INTS, arr, i + 1);
+            if (violations(left, right, ascending, strict).anyTrue())
+            {
+                return false;
+            }
+        }
+        return checker.scanScalar(arr, i, to).isSorted();
+    }
+
+    /**
+     * Checks the pairs (i, i+1) for from <= i < to with early exit at the first violating vector.
+     */
+    static boolean isSorted(long[] arr, int from, int to, SortednessChecker checker, boolean ascending,
+            boolean strict)
+    {
+        int bound = from + LONGS.loopBound(to - from);
+        int i = from;
+        for (; i < bound; i += LONGS.length())
+        {
+            LongVector left = LongVector.fromArray(LONGS, arr, i);
+            LongVector right = LongVector.fromArray(LONGS, arr, i + 1);
+            if (violations(left, right, ascending, strict).anyTrue())
+            {
+                return false;
+            }
+        }
+        return checker.scanScalar(arr, i, to).isSorted();
+    }
+
+    /**
+     * Scans the pairs (i, i+1) for from <= i < to.
+     */
+    static SortednessChecker.Report scan(int[] arr, int from, int to, SortednessChecker checker,
+            boolean ascending, boolean strict)
+    {
+        int bound = from + INTS.loopBound(to - from);
+        long first = -1;
+        long descents = 0;
+        int i = from;
+        for (; i < bound; i += INTS.length())
+        {
+            IntVector left = IntVector.fromArray(INTS, arr, i);
+            IntVector right = IntVector.fromArray(INTS, arr, i + 1);
+            VectorMask<Integer> mask = violations(left, right, ascending, strict);
+            if (mask.anyTrue())
+            {
+                if (first < 0)
+                {
+                    first = i + mask.firstTrue();
+                }
+                descents += mask.trueCount();
+            }
+        }
+        return combine(first, descents, checker.scanScalar(arr, i, to));
+    }
+
+    /**
+     * Scans the pairs (i, i+1) for from <= i < to.
+     */
+    static SortednessChecker.Report scan(long[] arr, int from, int to, SortednessChecker checker,
+            boolean ascending, boolean strict)
+    {
+        int bound = from + LONGS.loopBound(to - from);
+        long first = -1;
+        long descents = 0;
+        int i = from;
+        for (; i < bound; i += LONGS.length())
+        {
+            LongVector left = LongVector.fromArray(LONGS, arr, i);
+            LongVector right = LongVector.fromArray(LONGS, arr, i + 1);
+            VectorMask<Long> mask = violations(left, right, ascending, strict);
+            if (mask.anyTrue())
+            {
+                if (first < 0)
+                {
+                    first = i + mask.firstTrue();
+                }
+                descents += mask.trueCount();
+            }
+        }
+        return combine(first, descents, checker.scanScalar(arr, i, to));
+    }
+
+    /**
+     * Scans the pairs (i, i+1) for from <= i < to.
+     *
+     * Logic:
+     * 1. Load both vectors; if either holds a NaN, scan this step's pairs with the scalar loop
+     * 2. Otherwise map both to ordered longs and compare them like the long scan
+     */
+    static SortednessChecker.Report scan(double[] arr, int from, int to, SortednessChecker checker,
+            boolean ascending, boolean strict)
+    {
+        int bound = from + DOUBLES.loopBound(to - from);
+        long first = -1;
+        long descents = 0;
+        int i = from;
+        for (; i < bound; i += DOUBLES.length())
+        {
+            DoubleVector left = DoubleVector.fromArray(DOUBLES, arr, i);
+            DoubleVector right = DoubleVector.fromArray(DOUBLES, arr, i + 1);
+            if (left.test(VectorOperators.IS_NAN).or(right.test(VectorOperators.IS_NAN)).anyTrue())
+            {
+                SortednessChecker.Report step = checker.scanScalar(arr, i, i + DOUBLES.length());
+                if (!step.isSorted())
+                {
+                    if (first < 0)
+                    {
+                        first = step.getFirstViolation();
+                    }
+                    descents += step.getDescents();
+                }
+                continue;
+            }
+            VectorMask<Long> mask = violations(ordered(left), ordered(right), ascending, strict);
+            if (mask.anyTrue())
+            {
+                if (first < 0)
+                {
+                    first = i + mask.firstTrue();
+                }
+                descents += mask.trueCount();
+            }
+        }
+        return combine(first, descents, checker.scanScalar(arr, i, to));
+    }
+
+    /**
+     * Maps non-NaN doubles to longs with the same order as Double.compare.
+     */
+    private static LongVector ordered(DoubleVector values)
+    {
+        LongVector bits = values.reinterpretAsLongs();
+        return bits.lanewise(VectorOperators.XOR, bits.lanewise(VectorOperators.ASHR, 63)
+                .lanewise(VectorOperators.AND, Long.MAX_VALUE));
+    }
+
+    /**
+     * Combines the result of the vector steps with the report of the scalar tail after them.
+     */
+    private static SortednessChecker.Report combine(long first, long descents, SortednessChecker.Report tail)
+    {
+        if (descents == 0)
+        {
+            return tail;
+        }
+        return new SortednessChecker.Report(first, descents + tail.getDescents());
+    }
+
+    /**
+     * Compares the vector scans with the scalar ones on random, nearly sorted arrays.
+     * Run with --add-modules jdk.incubator.vector.
+     */
+    public static void main(String[] args)
+    {
+        Random random = new Random(3);
+        SortednessChecker checker = new SortednessChecker(SortednessChecker.Order.ASCENDING, true);
+        int mismatches = 0;
+        for (int round = 0; round < 1000; round++)
+        {
+            int n = random.nextInt(100);
+            int[] ints = new int[n];
+            double[] doubles = new double[n];
+            for (int i = 0; i < n; i++)
+            {
+                ints[i] = i * 2 + (random.nextInt(10) == 0 ? -5 : 0);
+                doubles[i] = random.nextInt(20) == 0 ? Double.NaN : ints[i];
+            }
+            String expected = checker.scanScalar(ints, 0, n - 1) + " " + checker.scanScalar(doubles, 0, n - 1);
+            String actual = scan(ints, 0, n - 1, checker, true, true) + " " + scan(doubles, 0, n - 1, checker, true, true);
+            if (!expected.equals(actual))
+            {
+                mismatches++;
+            }
+        }
+        System.out.println("Lanes per vector: " + INTS.length() + " ints, " + LONGS.length() + " longs");
+        System.out.println("Mismatches against the scalar scan in 1000 random arrays: " + mismatches);
+    }
+}
@@ -46,6 +46,22 @@ public class TowerOfHanoi
         solveTowerOfHanoi(n - 1, auxiliary, source, destination);
     }
 
+    /**
+     * Iterative version of {@link #solveTowerOfHanoi(int, char, char, char)} that prints the
+     * same moves in the same order without recursion, using {@link HanoiMoves}.
+     * 
+     * @param n The number of disks to move (1 <= n <= 63)
+     * @param source The source rod where disks start
+     * @param auxiliary The auxiliary rod used for temporary moves
+     * @param destination The destination rod where disks should end up
+     */
+    public static void solveTowerOfHanoiIterative(int n, char source, char auxiliary, char destination)
+    {
+        char[] rods =
+        { source, auxiliary, destination };
+        HanoiMoves.solve(n, (disk, from, to) -> System.out.println("Move disk " + disk + " from " + rods[from] + " to " + rods[to]));
+    }
+
     /**
      * Main method to demonstrate Tower of Hanoi solution.
      * Solves the puzzle for 3 disks using rods A, B, and C.
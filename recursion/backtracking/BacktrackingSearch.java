@@ -0,0 +1,371 @@
+package recursion.backtracking;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A general backtracking engine with pruning, generalizing {@link KAryStrings} and
+ * {@link BinaryStrings}, which always enumerate the full space.
+ *
+ * Positions are filled from 0 to n-1. The caller supplies:
+ * - A domain (the allowed values) for every position
+ * - Constraints that are checked as soon as a position is assigned, with all earlier
+ *   positions already fixed, so a violated constraint cuts off the whole subtree below
+ *   it instead of rejecting each complete string separately
+ * - Optionally, a value ordering heuristic that decides which values to try first
+ *
+ * The search runs on an array of per-position cursors rather than on the call stack, like
+ * the {@link recursion.ExplicitStack} variants of the generators, so long assignments do not
+ * overflow the thread stack.
+ *
+ * Every search returns {@link Statistics} with the number of nodes visited, the number
+ * of pruned assignments, the number of solutions and a histogram of nodes per depth.
+ *
+ * Example: binary strings of length 30 with no two adjacent 1s. Without pruning all
+ * 2^30 strings are generated; with {@link #noAdjacent(int)} only about 7 million
+ * nodes are visited.
+ */
+public class BacktrackingSearch
+{
+    /**
+     * A condition checked right after a position is assigned.
+     */
+    public interface Constraint
+    {
+        /**
+         * Checks the partial assignment.
+         *
+         * @param assignment The current values; positions 0..position are assigned
+         * @param position The position that was just assigned
+         * @return true to continue below this assignment, false to prune it
+         */
+        boolean accept(int[] assignment, int position);
+    }
+
+    /**
+     * Decides the order in which the values of a position are tried.
+     */
+    public interface ValueOrdering
+    {
+        /**
+         * Reorders the candidate values in place.
+         *
+         * @param assignment The current values; positions 0..position-1 are assigned
+         * @param position The position about to be assigned
+         * @param values The domain of the position, to be reordered
+         */
+        void order(int[] assignment, int position, int[] values);
+    }
+
+    /**
+     * Counters collected during one search.
+     */
+    public static class Statistics
+    {
+        /** Number of assignments tried, including pruned ones */
+        private long nodes;
+        /** Number of assignments rejected by a constraint */
+        private long pruned;
+        /** Number of complete assignments accepted */
+        private long solutions;
+        /** depthHistogram[d] = number of assignments tried at position d */
+        private final long[] depthHistogram;
+
+        Statistics(int n)
+        {
+            this.depthHistogram = new long[n];
+        }
+
+        /**
+         * Returns the number of assignments tried, including pruned ones.
+         *
+         * @return The node count
+         */
+        public long getNodes()
+        {
+            return nodes;
+        }
+
+        /**
+         * Returns the number of assignments rejected by a constraint.
+         *
+         * @return The pruned count
+         */
+        public long getPruned()
+        {
+            return pruned;
+        }
+
+        /**
+         * Returns the number of complete assignments accepted.
+         *
+         * @return The solution count
+         */
+        public long getSolutions()
+        {
+            return solutions;
+        }
+
+        /**
+         * Returns the number of assignments tried at each position.
+         *
+         * @return A copy of the histogram indexed by position
+         */
+        public long[] getDepthHistogram()
+        {
+            return depthHistogram.clone();
+        }
+
+        @Override
+        public String toString()
+        {
+            return "Statistics{" + "nodes=" + nodes + ", pruned=" + pruned + ", solutions=" + solutions
+                    + ", depthHistogram=" + Arrays.toString(depthHistogram) + '}';
+        }
+    }
+
+    /** Allowed values for each position */
+    private final int[][] domains;
+    /** Constraints checked after every assignment, in order */
+    private final List<Constraint> constraints = new ArrayList<>();
+    /** Value ordering heuristic, or null to use the domain order */
+    private ValueOrdering ordering;
+
+    /**
+     * Creates a search over the given per-position domains.
+     *
+     * @param domains domains[i] holds the values allowed at position i
+     */
+    public BacktrackingSearch(int[][] domains)
+    {
+        this.domains = new int[domains.length][];
+        for (int i = 0; i < domains.length; i++)
+        {
+            this.domains[i] = domains[i].clone();
+        }
+    }
+
+    /**
+     * Creates a search where every one of n positions takes the values 0 to k-1,
+     * the space enumerated by {@link KAryStrings}.
+     *
+     * @param n The number of positions
+     * @param k The number of values per position
+     * @return The search
+     */
+    public static BacktrackingSearch uniform(int n, int k)
+    {
+        int[] values = new int[k];
+        for (int i = 0; i < k; i++)
+        {
+            values[i] = i;
+        }
+        int[][] domains = new int[n][];
+        Arrays.fill(domains, values);
+        return new BacktrackingSearch(domains);
+    }
+
+    /**
+     * Adds a constraint; constraints are checked in the order they were added.
+     *
+     * @param constraint The constraint
+     * @return This search, for chaining
+     */
+    public BacktrackingSearch addConstraint(Constraint constraint)
+    {
+        constraints.add(constraint);
+        return this;
+    }
+
+    /**
+     * Sets the value ordering heuristic.
+     *
+     * @param ordering The heuristic, or null for domain order
+     * @return This search, for chaining
+     */
+    public BacktrackingSearch setValueOrdering(ValueOrdering ordering)
+    {
+        this.ordering = ordering;
+        return this;
+    }
+
+    /**
+     * Runs the search and reports every complete assignment.
+     *
+     * @param visitor Receives each solution in a reused buffer
+     * @return The statistics of this run
+     */
+    public Statistics search(StringVisitor visitor)
+    {
+        return search(visitor, Long.MAX_VALUE);
+    }
+
+    /**
+     * Runs the search until all solutions or the given number of solutions were found.
+     *
+     * @param visitor Receives each solution in a reused buffer
+     * @param maxSolutions The number of solutions after which to stop
+     * @return The statistics of this run
+     */
+    public Statistics search(StringVisitor visitor, long maxSolutions)
+    {
+        int n = domains.length;
+        Statistics statistics = new Statistics(n);
+        int[][] candidates = new int[n][];
+        for (int i = 0; i < n; i++)
+        {
+            candidates[i] = new int[domains[i].length];
+        }
+        run(candidates, new int[n], visitor, maxSolutions, statistics);
+        return statistics;
+    }
+
+    /**
+     * Runs the depth-first search iteratively, with one cursor per position instead of one
+     * stack frame per position, so the depth is not limited by the thread stack.
+     *
+     * Base case:
+     * - All positions assigned: report the solution and backtrack
+     *
+     * Logic:
+     * 1. On entering a position, copy its domain, let the heuristic reorder it and reset its cursor
+     * 2. Take the value at the cursor, advance the cursor and check the constraints
+     * 3. Descend to the next position only if every constraint accepts, otherwise count it as pruned
+     * 4. Backtrack to the previous position once all values of the current one were tried
+     * 5. Stop as soon as maxSolutions solutions were reported
+     */
+    private void run(int[][] candidates, int[] cursors, StringVisitor visitor, long maxSolutions,
+            Statistics statistics)
+    {
+        int n = domains.length;
+        int[] assignment = new int[n];
+        int position = 0;
+        enter(0, assignment, candidates, cursors);
+        while (position >= 0)
+        {
+            if (position == n)
+            {
+                statistics.solutions++;
+                visitor.visit(assignment);
+                if (statistics.solutions >= maxSolutions)
+                {
+                    return;
+                }
+                position--;
+                continue;
+            }
+            int[] values = candidates[position];
+            if (cursors[position] == values.length)
+            {
+                position--;
+                continue;
+            }
+            assignment[position] = values[cursors[position]++];
+            statistics.nodes++;
+            statistics.depthHistogram[position]++;
+            if (!acceptsAll(assignment, position))
+            {
+                statistics.pruned++;
+                continue;
+            }
+            position++;
+            enter(position, assignment, candidates, cursors);
+        }
+    }
+
+    /**
+     * Prepares the candidates of a position before its first value is tried.
+     */
+    private void enter(int position, int[] assignment, int[][] candidates, int[] cursors)
+    {
+        if (position == domains.length)
+        {
+            return;
+        }
+        int[] values = candidates[position];
+        System.arraycopy(domains[position], 0, values, 0, values.length);
+        if (ordering != null)
+        {
+            ordering.order(assignment, position, values);
+        }
+        cursors[position] = 0;
+    }
+
+    private boolean acceptsAll(int[] assignment, int position)
+    {
+        for (int i = 0; i < constraints.size(); i++)
+        {
+            if (!constraints.get(i).accept(assignment, position))
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Rejects assignments where two adjacent positions both hold the given value.
+     * Checks only the newly assigned position against its predecessor, O(1).
+     *
+     * @param value The value that must not repeat at adjacent positions
+     * @return The constraint
+     */
+    public static Constraint noAdjacent(int value)
+    {
+        return (assignment, position) -> position == 0 || assignment[position] != value
+                || assignment[position - 1] != value;
+    }
+
+    /**
+     * Rejects assignments whose running sum exceeds the bound.
+     * The prefix sums are kept incrementally, so each check is O(1). Since the instance
+     * stores those sums, it must only be used by one search at a time.
+     *
+     * @param bound The largest allowed sum of assigned values
+     * @return The constraint
+     */
+    public static Constraint partialSumAtMost(long bound)
+    {
+        return new Constraint()
+        {
+            private long[] prefix = new long[0];
+
+            @Override
+            public boolean accept(int[] assignment, int position)
+            {
+                if (prefix.length < assignment.length)
+                {
+                    prefix = new long[assignment.length];
+                }
+                prefix[position] = (position == 0 ? 0 : prefix[position - 1]) + assignment[position];
+                return prefix[position] <= bound;
+            }
+        };
+    }
+
+    /**
+     * Demonstrates pruning on binary strings without adjacent 1s and
+     * on 4-ary strings with a bounded digit sum tried largest value first.
+     */
+    public static void main(String[] args)
+    {
+        long[] count = new long[1];
+        Statistics statistics = uniform(30, 2).addConstraint(noAdjacent(1)).search(digits -> count[0]++);
+        System.out.println("Binary strings of length 30 without adjacent 1s: " + count[0]);
+        System.out.println(statistics);
+
+        BacktrackingSearch bounded = uniform(6, 4).addConstraint(partialSumAtMost(3))
+                .setValueOrdering((assignment, position, values) ->
+                {
+                    for (int i = 0, j = values.length - 1; i < j; i++, j--)
+                    {
+                        int swap = values[i];
+                        values[i] = values[j];
+                        values[j] = swap;
+                    }
+                });
+        System.out.println("First three 4-ary strings of length 6 with digit sum <= 3, largest digits first:");
+        System.out.println(bounded.search(digits -> System.out.println(Arrays.toString(digits)), 3));
+    }
+}
@@ -2,6 +2,8 @@ package recursion.backtracking;
 
 import java.util.Arrays;
 
+import recursion.ExplicitStack;
+
 /**
  * This class generates all possible binary strings of a given length using backtracking.
  * A binary string consists only of 0s and 1s. For length n, it generates 2^n different combinations.
@@ -51,6 +53,123 @@ public class BinaryStrings
         printBinaryStrings(n - 1);
     }
 
+    /**
+     * Iterative version of {@link #printBinaryStrings(int)} using an explicit stack.
+     * Produces the strings in the same order as the recursive version without
+     * growing the call stack.
+     * 
+     * @param n The length of the binary strings (must not exceed the array length)
+     * 
+     * Logic:
+     * Each frame holds (remaining positions, next value to try) and replaces one
+     * recursive call:
+     * 1. If no positions remain, print the array and return (pop)
+     * 2. If both values were tried, return (pop)
+     * 3. Otherwise place the next value at position remaining-1 and "call" for remaining-1 (push)
+     */
+    public void printBinaryStringsIterative(int n)
+    {
+        ExplicitStack stack = new ExplicitStack(2, n + 1);
+        stack.push(n, 0);
+        while (!stack.isEmpty())
+        {
+            int remaining = stack.get(0);
+            if (remaining == 0)
+            {
+                System.out.println(Arrays.toString(ARRAY));
+                stack.pop();
+                continue;
+            }
+            int value = stack.get(1);
+            if (value == 2)
+            {
+                stack.pop();
+                continue;
+            }
+            ARRAY[remaining - 1] = value;
+            stack.set(1, value + 1);
+            stack.push(remaining - 1, 0);
+        }
+    }
+
+    /**
+     * Enumerates all binary strings of the array's length in reflected Gray-code order,
+     * where successive strings differ in exactly one bit.
+     * The array starts as all zeros (the first string) and is updated in place; the
+     * visitor is told about each of the following 2^n - 1 strings by the bit that flipped.
+     * 
+     * Logic:
+     * For output i (1-based), the bit that flips is the number of trailing zero bits of i.
+     * Flip it and report it. The loop stops when i reaches 1L << n rather than testing
+     * i < 1L << n, which is negative for n = 63; i gets there by wrapping after 2^63 - 1 outputs.
+     * 
+     * Time Complexity: O(1) worst case per output, no allocation
+     * 
+     * @param visitor Receives the changed position and its new value
+     * @throws IllegalArgumentException if the array has more than 63 positions
+     */
+    public void visitGrayCode(ChangeVisitor visitor)
+    {
+        int n = ARRAY.length;
+        if (n >= Long.SIZE)
+        {
+            throw new IllegalArgumentException("Gray code enumeration supports at most 63 bits: " + n);
+        }
+        Arrays.fill(ARRAY, 0);
+        long end = 1L << n;
+        for (long i = 1; i != end; i++)
+        {
+            int j = Long.numberOfTrailingZeros(i);
+            ARRAY[j] ^= 1;
+            visitor.change(j, ARRAY[j]);
+        }
+    }
+
+    /**
+     * Returns the position of a string in the order produced by {@link #printBinaryStrings(int)},
+     * where position 0 changes fastest, so the rank is the number with bit i = bits[i].
+     * Time Complexity: O(n)
+     * 
+     * @param bits The binary string (at most 63 positions, each 0 or 1)
+     * @return The 0-based rank of the string
+     */
+    public static long rank(int[] bits)
+    {
+        if (bits.length >= Long.SIZE)
+        {
+            throw new ArithmeticException("Rank of " + bits.length + " bits does not fit in a long");
+        }
+        long rank = 0;
+        for (int i = 0; i < bits.length; i++)
+        {
+            if ((bits[i] & ~1) != 0)
+            {
+                throw new IllegalArgumentException("Bit " + bits[i] + " at position " + i + " is not 0 or 1");
+            }
+            rank |= (long) bits[i] << i;
+        }
+        return rank;
+    }
+
+    /**
+     * Writes the string with the given rank into bits, the inverse of {@link #rank(int[])}.
+     * Time Complexity: O(n)
+     * 
+     * @param rank The 0-based rank (0 <= rank < 2^n)
+     * @param bits Receives the binary string; its length is n
+     */
+    public static void unrank(long rank, int[] bits)
+    {
+        if (rank < 0 || (bits.length < Long.SIZE - 1 && rank >>> bits.length != 0))
+        {
+            throw new IllegalArgumentException("Rank " + rank + " is outside the range for " + bits.length + " bits");
+        }
+        for (int i = 0; i < bits.length; i++)
+        {
+            bits[i] = i < Long.SIZE ? (int) (rank >>> i) & 1 : 0;
+        }
+    }
+
     /**
      * String-based implementation to generate and print all binary strings.
      * Uses string concatenation to build strings incrementally.
@@ -87,5 +206,32 @@ public class BinaryStrings
     {
         BinaryStrings binaryStrings = new BinaryStrings(3);
         binaryStrings.printBinaryStrings(3, "");
+
+        System.out.println("Using explicit stack:");
+        binaryStrings.printBinaryStringsIterative(3);
+
+        System.out.println("Gray code order:");
+        int[] current = new int[3];
+        System.out.println(Arrays.toString(current));
+        binaryStrings.visitGrayCode((index, value) ->
+        {
+            current[index] = value;
+            System.out.println(Arrays.toString(current) + " (flipped position " + index + ")");
+        });
+
+        // 2^63 - 1 changes cannot be visited here; the visitor stops at the first one
+        System.out.print("First change for 63 bits: ");
+        try
+        {
+            new BinaryStrings(63).visitGrayCode((index, value) ->
+            {
+                throw new IllegalStateException("position " + index + " set to " + value);
+            });
+            System.out.println("none");
+        }
+        catch (IllegalStateException firstChange)
+        {
+            System.out.println(firstChange.getMessage());
+        }
     }
 }
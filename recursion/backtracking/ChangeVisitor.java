@@ -0,0 +1,19 @@
+package recursion.backtracking;
+
+/**
+ * Receives the outputs of a Gray-code enumeration as single-position changes.
+ * Successive strings of a Gray code differ in exactly one position, so instead of
+ * the whole string, only the position that changed and its new value are passed.
+ * A consumer that keeps its own copy of the string (or an incremental evaluation of it)
+ * can update it in O(1) per output.
+ */
+public interface ChangeVisitor
+{
+    /**
+     * Called once per output after the first (all-zero) string.
+     *
+     * @param index The position that changed (0-based)
+     * @param value The new value at that position
+     */
+    void change(int index, int value);
+}
@@ -0,0 +1,150 @@
+package recursion.backtracking;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+/**
+ * Generates k-combinations and subsets directly, instead of enumerating all strings
+ * with {@link BinaryStrings} or {@link KAryStrings} and filtering them.
+ * Three forms are provided:
+ * - Combinations as sorted index arrays in lexicographic order
+ * - Combinations as bitmasks with Gosper's hack, for n <= 63
+ * - All subsets in banker's order: by size first, then lexicographically
+ *
+ * Array results are passed to a {@link StringVisitor} in a reused buffer, like the
+ * string generators; bitmasks are passed to a LongConsumer.
+ */
+public class Combinations
+{
+    /**
+     * Visits all k-element subsets of 0..n-1 as increasing index arrays, in lexicographic order.
+     * Time Complexity: O(C(n, k)) total, O(1) amortized per combination
+     *
+     * @param n The number of elements
+     * @param k The size of each combination (0 <= k <= n)
+     * @param visitor Receives each combination in a reused buffer of length k
+     */
+    public static void forEach(int n, int k, StringVisitor visitor)
+    {
+        checkSizes(n, k);
+        forEach(n, new int[k], visitor);
+    }
+
+    /**
+     * Visits all k-element subsets of 0..n-1 as bitmasks with bit i set when i is chosen,
+     * in increasing numeric order.
+     * Time Complexity: O(1) per combination with no branches on the elements
+     *
+     * @param n The number of elements (n <= 63)
+     * @param k The size of each combination (0 <= k <= n)
+     * @param consumer Receives each bitmask
+     *
+     * Logic (Gosper's hack), from the current mask x:
+     * 1. c = lowest set bit of x
+     * 2. r = x + c moves the lowest block of 1s one step left, leaving a single 1
+     * 3. The remaining 1s of the block, shifted down to the bottom, are ((r ^ x) >> 2) / c
+     */
+    public static void forEachMask(int n, int k, LongConsumer consumer)
+    {
+        checkSizes(n, k);
+        if (n >= Long.SIZE)
+        {
+            throw new IllegalArgumentException("Bitmask combinations support at most 63 elements: " + n);
+        }
+        if (k == 0)
+        {
+            consumer.accept(0);
+            return;
+        }
+        // For n = 63, 1L << n is Long.MIN_VALUE and the successor of the last mask reaches bit 63,
+        // so the masks are compared as unsigned numbers
+        long limit = 1L << n;
+        long x = (1L << k) - 1;
+        while (Long.compareUnsigned(x, limit) < 0)
+        {
+            consumer.accept(x);
+            long c = x & -x;
+            long r = x + c;
+            x = (((r ^ x) >>> 2) / c) | r;
+        }
+    }
+
+    /**
+     * Visits all 2^n subsets of 0..n-1 in banker's order: the empty set, then all
+     * single elements, then all pairs, and so on, each size in lexicographic order.
+     * Time Complexity: O(2^n) total, O(1) amortized per subset
+     *
+     * @param n The number of elements
+     * @param visitor Receives each subset as an increasing index array whose length is the subset size
+     */
+    public static void forEachSubset(int n, StringVisitor visitor)
+    {
+        if (n < 0)
+        {
+            throw new IllegalArgumentException("Number of elements must be non-negative: " + n);
+        }
+        for (int size = 0; size <= n; size++)
+        {
+            forEach(n, new int[size], visitor);
+        }
+    }
+
+    /**
+     * Lexicographic combinations of the buffer's length.
+     *
+     * Logic:
+     * 1. Start with 0, 1, ..., k-1
+     * 2. Find the rightmost index that can still grow (indices[i] < n - k + i)
+     * 3. Increment it and reset everything to its right to consecutive values
+     * 4. Stop when no index can grow
+     */
+    private static void forEach(int n, int[] indices, StringVisitor visitor)
+    {
+        int k = indices.length;
+        for (int i = 0; i < k; i++)
+        {
+            indices[i] = i;
+        }
+        while (true)
+        {
+            visitor.visit(indices);
+            int i = k - 1;
+            while (i >= 0 && indices[i] == n - k + i)
+            {
+                i--;
+            }
+            if (i < 0)
+            {
+                return;
+            }
+            indices[i]++;
+            for (int j = i + 1; j < k; j++)
+            {
+                indices[j] = indices[j - 1] + 1;
+            }
+        }
+    }
+
+    private static void checkSizes(int n, int k)
+    {
+        if (n < 0 || k < 0 || k > n)
+        {
+            throw new IllegalArgumentException("Invalid combination size " + k + " of " + n + " elements");
+        }
+    }
+
+    /**
+     * Demonstrates the three generators on small inputs.
+     */
+    public static void main(String[] args)
+    {
+        System.out.println("2-combinations of 4 elements:");
+        forEach(4, 2, combination -> System.out.println(Arrays.toString(combination)));
+
+        System.out.println("3-combinations of 5 elements as bitmasks:");
+        forEachMask(5, 3, mask -> System.out.println(Long.toBinaryString(mask)));
+
+        System.out.println("Subsets of 3 elements in banker's order:");
+        forEachSubset(3, subset -> System.out.println(Arrays.toString(subset)));
+    }
+}
@@ -0,0 +1,227 @@
+package recursion.backtracking;
+
+import java.util.Arrays;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.random.RandomGenerator;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A Spliterator over a range of ranks of k-ary strings of length n, in the order of
+ * {@link KAryStrings#printKAryStrings(int, int)} (binary strings are the case k = 2).
+ *
+ * Because every string can be computed from its rank with {@link KAryStrings#unrank},
+ * the spliterator splits by halving its rank range, which makes parallel streams over
+ * the whole space balanced, and a stream can start at any rank to resume an earlier run.
+ * Within a range, strings are produced by incrementing the digits like an odometer.
+ *
+ * Each spliterator fills one reused int[] buffer, so elements must be consumed (or copied)
+ * before the next one is requested; operations such as collect on the raw arrays need a
+ * map(int[]::clone) first.
+ */
+public class KAryStringSpliterator implements Spliterator<int[]>
+{
+    /** Ranges smaller than this are not split further */
+    private static final long MIN_SPLIT = 1 << 10;
+
+    /** Number of possible values for each position */
+    private final int k;
+    /** Reused buffer holding the string with rank next */
+    private final int[] digits;
+    /** Rank of the next string to produce */
+    private long next;
+    /** Rank after the last string to produce */
+    private final long end;
+
+    /**
+     * Creates a spliterator over the ranks [from, to).
+     *
+     * @param n The length of the strings
+     * @param k The number of possible values for each position
+     * @param from The first rank (inclusive)
+     * @param to The last rank (exclusive), at most k^n
+     */
+    public KAryStringSpliterator(int n, int k, long from, long to)
+    {
+        if (from < 0 || from > to || to > spaceSize(n, k))
+        {
+            throw new IllegalArgumentException("Invalid rank range [" + from + ", " + to + ")");
+        }
+        this.k = k;
+        this.digits = new int[n];
+        this.next = from;
+        this.end = to;
+        if (from < to)
+        {
+            KAryStrings.unrank(from, k, digits);
+        }
+    }
+
+    /**
+     * Returns a stream of all k-ary strings of length n.
+     *
+     * @param n The length of the strings
+     * @param k The number of possible values for each position
+     * @param parallel true for a parallel stream
+     * @return The stream of reused digit buffers
+     */
+    public static Stream<int[]> stream(int n, int k, boolean parallel)
+    {
+        return stream(n, k, 0, parallel);
+    }
+
+    /**
+     * Returns a stream of the k-ary strings of length n starting at a given rank,
+     * e.g. to resume an enumeration that was interrupted.
+     *
+     * @param n The length of the strings
+     * @param k The number of possible values for each position
+     * @param from The rank of the first string
+     * @param parallel true for a parallel stream
+     * @return The stream of reused digit buffers
+     */
+    public static Stream<int[]> stream(int n, int k, long from, boolean parallel)
+    {
+        return StreamSupport.stream(new KAryStringSpliterator(n, k, from, spaceSize(n, k)), parallel);
+    }
+
+    /**
+     * Writes a uniformly random k-ary string into digits without enumerating the space.
+     * Every position is drawn independently, which is the same distribution as unranking a
+     * uniform rank but also works for spaces with more than 2^63 strings.
+     * Time Complexity: O(n)
+     *
+     * @param k The number of possible values for each position
+     * @param random The source of randomness
+     * @param digits Receives the string; its length is n
+     */
+    public static void sample(int k, RandomGenerator random, int[] digits)
+    {
+        for (int i = 0; i < digits.length; i++)
+        {
+            digits[i] = random.nextInt(k);
+        }
+    }
+
+    /**
+     * Returns k^n.
+     *
+     * @throws ArithmeticException if k^n does not fit in a long
+     */
+    static long spaceSize(int n, int k)
+    {
+        long size = 1;
+        for (int i = 0; i < n; i++)
+        {
+            size = Math.multiplyExact(size, k);
+        }
+        return size;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super int[]> action)
+    {
+        if (next >= end)
+        {
+            return false;
+        }
+        action.accept(digits);
+        next++;
+        if (next < end)
+        {
+            increment();
+        }
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super int[]> action)
+    {
+        while (next < end)
+        {
+            action.accept(digits);
+            next++;
+            if (next < end)
+            {
+                increment();
+            }
+        }
+    }
+
+    /**
+     * Splits off the first half of the remaining ranks.
+     * The new spliterator unranks its own start into its own buffer.
+     */
+    @Override
+    public Spliterator<int[]> trySplit()
+    {
+        long remaining = end - next;
+        if (remaining < MIN_SPLIT)
+        {
+            return null;
+        }
+        long mid = next + remaining / 2;
+        KAryStringSpliterator prefix = new KAryStringSpliterator(digits.length, k, next, mid);
+        next = mid;
+        KAryStrings.unrank(mid, k, digits);
+        return prefix;
+    }
+
+    @Override
+    public long estimateSize()
+    {
+        return end - next;
+    }
+
+    @Override
+    public int characteristics()
+    {
+        return ORDERED | SIZED | SUBSIZED | NONNULL;
+    }
+
+    /**
+     * Moves the buffer to the next string: position 0 changes fastest and carries upward.
+     */
+    private void increment()
+    {
+        int i = 0;
+        while (++digits[i] == k)
+        {
+            digits[i] = 0;
+            i++;
+        }
+    }
+
+    /**
+     * Demonstrates rank/unrank, a parallel stream, resuming at a rank and random sampling.
+     */
+    public static void main(String[] args)
+    {
+        int[] digits = new int[5];
+        KAryStrings.unrank(100, 3, digits);
+        System.out.println("Rank 100 of 3-ary strings of length 5: " + Arrays.toString(digits)
+                + " -> rank " + KAryStrings.rank(digits, 3));
+
+        long zeroFree = stream(14, 3, true).filter(d ->
+        {
+            for (int digit : d)
+            {
+                if (digit == 0)
+                {
+                    return false;
+                }
+            }
+            return true;
+        }).count();
+        System.out.println("3-ary strings of length 14 without zeros: " + zeroFree);
+
+        System.out.println("Resuming binary strings of length 4 at rank 13:");
+        stream(4, 2, 13, false).forEach(d -> System.out.println(Arrays.toString(d)));
+
+        int[] sample = new int[30];
+        sample(4, RandomGenerator.getDefault(), sample);
+        System.out.println("Random sample from 4^30 strings: " + Arrays.toString(sample)
+                + " with rank " + KAryStrings.rank(sample, 4));
+    }
+}
@@ -2,6 +2,8 @@ package recursion.backtracking;
 
 import java.util.Arrays;
 
+import recursion.ExplicitStack;
+
 /**
  * This class generates all possible k-ary strings of a given length using backtracking.
  * A k-ary string is a string where each position can have k different values (0 to k-1).
@@ -58,6 +60,156 @@ public class KAryStrings
         }
     }
 
+    /**
+     * Iterative version of {@link #printKAryStrings(int, int)} using an explicit stack.
+     * Produces the strings in the same order as the recursive version without
+     * growing the call stack.
+     * 
+     * @param n The length of the k-ary strings (must not exceed the array length)
+     * @param k The number of possible values for each position (0 to k-1)
+     * 
+     * Logic:
+     * Each frame holds (remaining positions, next value to try) and replaces one
+     * recursive call:
+     * 1. If no positions remain, print the array and return (pop)
+     * 2. If all k values were tried, return (pop)
+     * 3. Otherwise place the next value at position remaining-1 and "call" for remaining-1 (push)
+     * 
+     * Time Complexity: O(k^n)
+     * Space Complexity: O(n) heap slots, O(1) call stack
+     */
+    public void printKAryStringsIterative(int n, int k)
+    {
+        ExplicitStack stack = new ExplicitStack(2, n + 1);
+        stack.push(n, 0);
+        while (!stack.isEmpty())
+        {
+            int remaining = stack.get(0);
+            if (remaining == 0)
+            {
+                System.out.println(Arrays.toString(ARRAY));
+                stack.pop();
+                continue;
+            }
+            int value = stack.get(1);
+            if (value == k)
+            {
+                stack.pop();
+                continue;
+            }
+            ARRAY[remaining - 1] = value;
+            stack.set(1, value + 1);
+            stack.push(remaining - 1, 0);
+        }
+    }
+
+    /**
+     * Enumerates all k-ary strings of the array's length in reflected k-ary Gray-code order,
+     * where successive strings differ in exactly one position by +1 or -1.
+     * The array starts as all zeros (the first string) and is updated in place; the
+     * visitor is told about each of the following k^n - 1 strings by the position that changed.
+     * 
+     * @param k The number of possible values for each position (0 to k-1)
+     * @param visitor Receives the changed position and its new value
+     * 
+     * Logic (loopless generation with focus pointers, Knuth's Algorithm H):
+     * - Each position j moves in direction dir[j], reversing when it reaches 0 or k-1
+     * - focus[0] always names the next position to change, so no scan is needed
+     * - When position j reverses, it hands the focus to focus[j+1] and becomes
+     *   the focus of position j+1 again
+     * - The enumeration ends when the focus reaches position n
+     * 
+     * Time Complexity: O(1) worst case per output, no allocation per output
+     * Space Complexity: O(n)
+     */
+    public void visitGrayCode(int k, ChangeVisitor visitor)
+    {
+        int n = ARRAY.length;
+        Arrays.fill(ARRAY, 0);
+        if (k < 2)
+        {
+            return;
+        }
+        int[] focus = new int[n + 1];
+        int[] dir = new int[n];
+        for (int j = 0; j <= n; j++)
+        {
+            focus[j] = j;
+        }
+        Arrays.fill(dir, 1);
+        while (true)
+        {
+            int j = focus[0];
+            focus[0] = 0;
+            if (j == n)
+            {
+                return;
+            }
+            ARRAY[j] += dir[j];
+            visitor.change(j, ARRAY[j]);
+            if (ARRAY[j] == 0 || ARRAY[j] == k - 1)
+            {
+                dir[j] = -dir[j];
+                focus[j] = focus[j + 1];
+                focus[j + 1] = j + 1;
+            }
+        }
+    }
+
+    /**
+     * Returns the position of a string in the order produced by {@link #printKAryStrings(int, int)},
+     * where position 0 changes fastest: rank = a[0] + a[1]*k + a[2]*k^2 + ...
+     * Time Complexity: O(n)
+     * 
+     * @param digits The string (each digit between 0 and k-1)
+     * @param k The number of possible values for each position
+     * @return The 0-based rank of the string
+     * @throws ArithmeticException if k^n does not fit in a long
+     * 
+     * Logic: Horner evaluation from the slowest-changing position (n-1) down to position 0
+     */
+    public static long rank(int[] digits, int k)
+    {
+        long rank = 0;
+        for (int i = digits.length - 1; i >= 0; i--)
+        {
+            if (digits[i] < 0 || digits[i] >= k)
+            {
+                throw new IllegalArgumentException("Digit " + digits[i] + " at position " + i + " is outside [0, " + k + ")");
+            }
+            rank = Math.addExact(Math.multiplyExact(rank, k), digits[i]);
+        }
+        return rank;
+    }
+
+    /**
+     * Writes the string with the given rank into digits, the inverse of {@link #rank(int[], int)}.
+     * Time Complexity: O(n)
+     * 
+     * @param rank The 0-based rank (0 <= rank < k^n)
+     * @param k The number of possible values for each position
+     * @param digits Receives the string; its length is n
+     * 
+     * Logic: repeatedly take the remainder modulo k, position 0 first
+     */
+    public static void unrank(long rank, int k, int[] digits)
+    {
+        if (rank < 0)
+        {
+            throw new IllegalArgumentException("Rank must be non-negative: " + rank);
+        }
+        long rest = rank;
+        for (int i = 0; i < digits.length; i++)
+        {
+            digits[i] = (int) (rest % k);
+            rest /= k;
+        }
+        if (rest != 0)
+        {
+            throw new IllegalArgumentException("Rank " + rank + " is too large for " + digits.length + " positions");
+        }
+    }
+
     /**
      * String-based implementation to generate and print all k-ary strings.
      * Uses string concatenation to build strings incrementally.
@@ -103,5 +255,17 @@ public class KAryStrings
 
         System.out.println("\nUsing string-based approach:");
         kAryStrings.printKAryStrings(n, k, "");
+
+        System.out.println("\nUsing explicit stack:");
+        kAryStrings.printKAryStringsIterative(n, k);
+
+        System.out.println("\nGray code order:");
+        int[] current = new int[n];
+        System.out.println(Arrays.toString(current));
+        kAryStrings.visitGrayCode(k, (index, value) ->
+        {
+            current[index] = value;
+            System.out.println(Arrays.toString(current) + " (changed position " + index + ")");
+        });
     }
 }
@@ -0,0 +1,317 @@
+package recursion.backtracking;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.LongConsumer;
+
+/**
+ * Compact output modes for the strings of {@link BinaryStrings} and {@link KAryStrings}.
+ * Formatting every string with Arrays.toString or building it with str + "0" costs far more
+ * than generating it, so here each string is encoded as a number instead:
+ * - Packed: the digits are read as a base-k number, digit i weighing k^i, so the packed
+ *   value is a[0] + a[1]*k + a[2]*k^2 + ..., the rank of {@link KAryStrings#rank(int[], int)}.
+ *   For binary strings it is simply the bitmask. Base k wastes no bits on unused digit
+ *   values: a 3-ary string of length 39 fits in a long, where 2 bits per digit would need 78
+ * - Bytes: one byte per digit, for k <= 256
+ *
+ * Strings are produced in the order of the array-based generators (position 0 changes
+ * fastest), in which consecutive strings have consecutive packed values, so the next string
+ * costs one increment with no array at all.
+ *
+ * Outputs: batches of packed longs handed to a {@link BatchConsumer}, a ByteBuffer filled in
+ * batches (resumable by rank), or a memory-mapped file with fixed-width big-endian records of
+ * 1, 2, 4 or 8 bytes.
+ */
+public class PackedStrings
+{
+    /** Number of bytes mapped at once when writing files */
+    private static final int WINDOW_BYTES = 1 << 26;
+
+    /**
+     * Receives the packed strings a batch at a time.
+     */
+    public interface BatchConsumer
+    {
+        /**
+         * Called once per batch, in enumeration order.
+         *
+         * @param batch The packed strings in batch[0, length); the array is reused for the next batch
+         * @param length The number of strings in this batch
+         */
+        void accept(long[] batch, int length);
+    }
+
+    /** Length of the strings */
+    private final int n;
+    /** Number of possible values for each position */
+    private final int k;
+    /** Total number of strings, k^n */
+    private final long count;
+    /** Bytes per packed record in buffers and files */
+    private final int recordBytes;
+
+    /**
+     * Creates an encoder for k-ary strings of length n.
+     *
+     * @param n The length of the strings
+     * @param k The number of possible values for each position (2 <= k)
+     * @throws IllegalArgumentException if k^n does not fit in a long
+     */
+    public PackedStrings(int n, int k)
+    {
+        if (n < 0 || k < 2)
+        {
+            throw new IllegalArgumentException("Invalid length " + n + " or alphabet size " + k);
+        }
+        this.n = n;
+        this.k = k;
+        try
+        {
+            this.count = KAryStringSpliterator.spaceSize(n, k);
+        }
+        catch (ArithmeticException e)
+        {
+            throw new IllegalArgumentException(k + "^" + n + " strings do not fit in a long", e);
+        }
+        int packedBits = Long.SIZE - Long.numberOfLeadingZeros(count - 1);
+        int packedBytes = (packedBits + Byte.SIZE - 1) / Byte.SIZE;
+        this.recordBytes = packedBytes <= 1 ? 1 : packedBytes <= 2 ? 2 : packedBytes <= 4 ? 4 : 8;
+    }
+
+    /**
+     * Returns the number of strings, k^n.
+     *
+     * @return The size of the space
+     */
+    public long count()
+    {
+        return count;
+    }
+
+    /**
+     * Returns the width of one packed record in buffers and files.
+     *
+     * @return 1, 2, 4 or 8
+     */
+    public int recordBytes()
+    {
+        return recordBytes;
+    }
+
+    /**
+     * Packs a digit array.
+     * Time Complexity: O(n)
+     *
+     * @param digits The string, position 0 first
+     * @return The packed value
+     */
+    public long pack(int[] digits)
+    {
+        return KAryStrings.rank(digits, k);
+    }
+
+    /**
+     * Unpacks a value produced by this encoder.
+     * Time Complexity: O(n)
+     *
+     * @param packed The packed string
+     * @param digits Receives the digits, position 0 first
+     */
+    public void unpack(long packed, int[] digits)
+    {
+        KAryStrings.unrank(packed, k, digits);
+    }
+
+    /**
+     * Hands every string to the consumer as packed longs, filling the given array
+     * before each call, so the enumeration allocates nothing.
+     * Time Complexity: O(k^n), with one call per batch.length strings
+     *
+     * @param batch The buffer to fill and pass on (length >= 1)
+     * @param consumer Receives the packed strings in enumeration order
+     */
+    public void forEachBatch(long[] batch, BatchConsumer consumer)
+    {
+        if (batch.length == 0)
+        {
+            throw new IllegalArgumentException("Batch buffer must not be empty");
+        }
+        long packed = 0;
+        while (packed < count)
+        {
+            int length = (int) Math.min(batch.length, count - packed);
+            for (int i = 0; i < length; i++)
+            {
+                batch[i] = packed++;
+            }
+            consumer.accept(batch, length);
+        }
+    }
+
+    /**
+     * Passes every string to the consumer as a packed long, one call per string.
+     * Prefer {@link #forEachBatch(long[], BatchConsumer)} when the consumer can work on arrays.
+     * Time Complexity: O(k^n)
+     *
+     * @param consumer Receives the packed strings in enumeration order
+     */
+    public void forEach(LongConsumer consumer)
+    {
+        for (long packed = 0; packed < count; packed++)
+        {
+            consumer.accept(packed);
+        }
+    }
+
+    /**
+     * Writes packed records starting at the given rank until the buffer is full
+     * or the space is exhausted. Call again with the returned rank to continue.
+     *
+     * @param fromRank The rank of the first string to write
+     * @param out The buffer to fill from its position
+     * @return The rank of the next string not yet written
+     */
+    public long write(long fromRank, ByteBuffer out)
+    {
+        long limit = Math.min(count, fromRank + out.remaining() / recordBytes);
+        if (fromRank >= limit)
+        {
+            return fromRank;
+        }
+        for (long packed = fromRank; packed < limit; packed++)
+        {
+            putRecord(out, packed);
+        }
+        return limit;
+    }
+
+    /**
+     * Writes strings as one byte per digit starting at the given rank until the buffer
+     * is full or the space is exhausted. Call again with the returned rank to continue.
+     *
+     * @param fromRank The rank of the first string to write
+     * @param out The buffer to fill from its position
+     * @return The rank of the next string not yet written
+     */
+    public long writeDigits(long fromRank, ByteBuffer out)
+    {
+        if (k > 256)
+        {
+            throw new IllegalStateException("Digits of a " + k + "-ary string do not fit in a byte");
+        }
+        long limit = n == 0 ? Math.min(count, fromRank + 1) : Math.min(count, fromRank + out.remaining() / n);
+        if (fromRank >= limit)
+        {
+            return fromRank;
+        }
+        int[] digits = new int[n];
+        KAryStrings.unrank(fromRank, k, digits);
+        for (long rank = fromRank; rank < limit; rank++)
+        {
+            for (int i = 0; i < n; i++)
+            {
+                out.put((byte) digits[i]);
+            }
+            if (rank + 1 < limit)
+            {
+                int i = 0;
+                while (++digits[i] == k)
+                {
+                    digits[i] = 0;
+                    i++;
+                }
+            }
+        }
+        return limit;
+    }
+
+    /**
+     * Writes all strings as packed fixed-width records to a file, replacing its contents.
+     * The file is mapped in windows, so the records go straight to the page cache.
+     *
+     * @param file The output file
+     * @return The number of bytes written
+     * @throws IOException if the file cannot be written
+     */
+    public long writeFile(Path file) throws IOException
+    {
+        long size = Math.multiplyExact(count, recordBytes);
+        int windowBytes = WINDOW_BYTES - WINDOW_BYTES % recordBytes;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING))
+        {
+            long rank = 0;
+            for (long offset = 0; offset < size; offset += windowBytes)
+            {
+                MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_WRITE, offset,
+                        Math.min(windowBytes, size - offset));
+                rank = write(rank, window);
+            }
+        }
+        return size;
+    }
+
+    private void putRecord(ByteBuffer out, long packed)
+    {
+        switch (recordBytes)
+        {
+            case 1:
+                out.put((byte) packed);
+                break;
+            case 2:
+                out.putShort((short) packed);
+                break;
+            case 4:
+                out.putInt((int) packed);
+                break;
+            default:
+                out.putLong(packed);
+        }
+    }
+
+    /**
+     * Demonstrates the packed forms of small spaces and writes all binary
+     * strings of length 26 to a temporary file.
+     */
+    public static void main(String[] args) throws IOException
+    {
+        PackedStrings ternary = new PackedStrings(2, 3);
+        StringBuilder line = new StringBuilder("3-ary strings of length 2 packed in base 3, in batches of 4:");
+        ternary.forEachBatch(new long[4], (batch, length) ->
+        {
+            line.append(" [");
+            for (int i = 0; i < length; i++)
+            {
+                int[] digits = new int[2];
+                ternary.unpack(batch[i], digits);
+                line.append(i == 0 ? "" : " ").append(batch[i]).append('=').append(digits[0]).append(digits[1]);
+            }
+            line.append(']');
+        });
+        System.out.println(line);
+        System.out.println("3-ary strings of length 39 fit in " + new PackedStrings(39, 3).recordBytes() + "-byte records");
+
+        ByteBuffer batch = ByteBuffer.allocate(8);
+        long next = ternary.writeDigits(0, batch);
+        System.out.println("One batch of 8 bytes holds strings 0.." + (next - 1));
+
+        PackedStrings binary = new PackedStrings(26, 2);
+        Path file = Files.createTempFile("binary", ".bin");
+        try
+        {
+            long start = System.nanoTime();
+            long bytes = binary.writeFile(file);
+            long millis = (System.nanoTime() - start) / 1_000_000;
+            System.out.println("Wrote " + binary.count() + " binary strings (" + bytes + " bytes) in " + millis + " ms");
+        }
+        finally
+        {
+            Files.delete(file);
+        }
+    }
+}
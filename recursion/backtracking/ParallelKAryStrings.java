@@ -0,0 +1,234 @@
+package recursion.backtracking;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BinaryOperator;
+import java.util.function.Supplier;
+
+/**
+ * Enumerates all k-ary strings of length n on multiple cores.
+ * {@link KAryStrings} fills one shared ARRAY field, so a single instance cannot be used
+ * from several threads. Here the search space is partitioned by prefixes instead:
+ * - The outermost positions (n-1, n-2, ...) are fixed one at a time, forking one
+ *   ForkJoin task per value, until a task has at most LEAF_SIZE strings left
+ * - Each leaf task copies its prefix into its own scratch array and enumerates the
+ *   remaining positions sequentially, in the same order as KAryStrings
+ *
+ * Results are delivered either to one thread-safe {@link StringVisitor} or to
+ * per-task reducers: each leaf task gets a fresh visitor from a supplier and the
+ * visitors are combined pairwise when the tasks join, so no synchronization is
+ * needed while visiting.
+ */
+public class ParallelKAryStrings
+{
+    /** Tasks with at most this many strings are enumerated sequentially */
+    private static final long LEAF_SIZE = 1 << 14;
+
+    /** Length of the strings */
+    private final int n;
+    /** Number of possible values for each position */
+    private final int k;
+    /** Pool running the tasks */
+    private final ForkJoinPool pool;
+
+    /**
+     * Creates an enumerator that runs on the common ForkJoinPool.
+     *
+     * @param n The length of the strings
+     * @param k The number of possible values for each position (0 to k-1)
+     */
+    public ParallelKAryStrings(int n, int k)
+    {
+        this(n, k, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates an enumerator that runs on the given pool.
+     *
+     * @param n The length of the strings (n >= 0)
+     * @param k The number of possible values for each position (k >= 1)
+     * @param pool The pool running the tasks
+     */
+    public ParallelKAryStrings(int n, int k, ForkJoinPool pool)
+    {
+        if (n < 0 || k < 1)
+        {
+            throw new IllegalArgumentException("Invalid length " + n + " or alphabet size " + k);
+        }
+        this.n = n;
+        this.k = k;
+        this.pool = pool;
+    }
+
+    /**
+     * Visits every string exactly once from multiple threads.
+     * Time Complexity: O(k^n / p) with p worker threads
+     *
+     * @param visitor A thread-safe visitor; each thread passes its own digits array
+     */
+    public void forEach(StringVisitor visitor)
+    {
+        reduce(() -> visitor, (left, right) -> left);
+    }
+
+    /**
+     * Visits every string exactly once using one visitor per leaf task.
+     *
+     * @param supplier Creates a fresh visitor (for example a counter or accumulator) for each leaf task
+     * @param combiner Merges the visitors of two tasks, left part of the space first
+     * @return The visitor holding the combined result
+     */
+    public <R extends StringVisitor> R reduce(Supplier<R> supplier, BinaryOperator<R> combiner)
+    {
+        return pool.invoke(new PrefixTask<>(new int[n], n, supplier, combiner));
+    }
+
+    /**
+     * Enumerates the strings that share the digits at positions [free, n) of prefix.
+     */
+    @SuppressWarnings("serial")
+    private class PrefixTask<R extends StringVisitor> extends RecursiveTask<R>
+    {
+        /** Digits of the fixed positions, owned by this task */
+        private final int[] prefix;
+        /** Positions [0, free) are still to be enumerated */
+        private final int free;
+        private final Supplier<R> supplier;
+        private final BinaryOperator<R> combiner;
+
+        PrefixTask(int[] prefix, int free, Supplier<R> supplier, BinaryOperator<R> combiner)
+        {
+            this.prefix = prefix;
+            this.free = free;
+            this.supplier = supplier;
+            this.combiner = combiner;
+        }
+
+        /**
+         * Base case: few enough strings remain, enumerate them sequentially
+         * Recursive case: fix position free-1 to each value and fork a task per value
+         */
+        @Override
+        protected R compute()
+        {
+            if (free == 0 || spaceSize(free) <= LEAF_SIZE)
+            {
+                R visitor = supplier.get();
+                enumerate(prefix, free, visitor);
+                return visitor;
+            }
+            @SuppressWarnings("unchecked")
+            PrefixTask<R>[] children = (PrefixTask<R>[]) new PrefixTask<?>[k];
+            for (int value = 0; value < k; value++)
+            {
+                int[] childPrefix = prefix.clone();
+                childPrefix[free - 1] = value;
+                children[value] = new PrefixTask<>(childPrefix, free - 1, supplier, combiner);
+            }
+            for (int value = k - 1; value > 0; value--)
+            {
+                children[value].fork();
+            }
+            R result = children[0].compute();
+            for (int value = 1; value < k; value++)
+            {
+                result = combiner.apply(result, children[value].join());
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Enumerates positions [0, free) of digits with an odometer, position 0 changing fastest,
+     * which is the order of {@link KAryStrings#printKAryStrings(int, int)}.
+     *
+     * Logic:
+     * 1. Visit the current string
+     * 2. Increment position 0; while a position reaches k, reset it to 0 and carry into the next
+     * 3. Stop when the carry leaves the free positions
+     */
+    private void enumerate(int[] digits, int free, StringVisitor visitor)
+    {
+        while (true)
+        {
+            visitor.visit(digits);
+            int i = 0;
+            while (i < free && ++digits[i] == k)
+            {
+                digits[i] = 0;
+                i++;
+            }
+            if (i == free)
+            {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Returns k^positions, capped at Long.MAX_VALUE.
+     */
+    private long spaceSize(int positions)
+    {
+        long size = 1;
+        for (int i = 0; i < positions; i++)
+        {
+            if (size > Long.MAX_VALUE / k)
+            {
+                return Long.MAX_VALUE;
+            }
+            size *= k;
+        }
+        return size;
+    }
+
+    /**
+     * Counts the 3-ary strings of length 16 whose digits sum to 16,
+     * once with a shared thread-safe counter and once with per-task counters.
+     */
+    public static void main(String[] args)
+    {
+        ParallelKAryStrings strings = new ParallelKAryStrings(16, 3);
+
+        LongAdder shared = new LongAdder();
+        strings.forEach(digits ->
+        {
+            if (digitSum(digits) == 16)
+            {
+                shared.increment();
+            }
+        });
+        System.out.println("Shared visitor count: " + shared.sum());
+
+        class Counter implements StringVisitor
+        {
+            long count;
+
+            @Override
+            public void visit(int[] digits)
+            {
+                if (digitSum(digits) == 16)
+                {
+                    count++;
+                }
+            }
+        }
+        Counter total = strings.reduce(Counter::new, (left, right) ->
+        {
+            left.count += right.count;
+            return left;
+        });
+        System.out.println("Per-task reducer count: " + total.count);
+    }
+
+    private static int digitSum(int[] digits)
+    {
+        int sum = 0;
+        for (int digit : digits)
+        {
+            sum += digit;
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,71 @@
+package recursion.backtracking;
+
+import java.util.Arrays;
+
+/**
+ * Generates all permutations of 0..n-1 with Heap's algorithm.
+ * Consecutive permutations differ by a single swap, so the work per permutation is O(1)
+ * amortized, compared to generating all n^n strings with {@link KAryStrings} and
+ * filtering out those with repeated digits.
+ *
+ * Follows the conventions of the string generators: results are passed to a
+ * {@link StringVisitor} in one reused buffer.
+ */
+public class Permutations
+{
+    /**
+     * Visits all n! permutations of 0..n-1.
+     * Time Complexity: O(n!) total, O(1) amortized per permutation
+     * Space Complexity: O(n)
+     *
+     * @param n The number of elements (n >= 0)
+     * @param visitor Receives each permutation in a reused buffer
+     *
+     * Logic (iterative Heap's algorithm):
+     * - counter[i] counts how many swaps level i has done in the current cycle
+     * - While counter[i] < i, swap position i with position 0 (i even) or counter[i] (i odd),
+     *   visit, and restart from level 1
+     * - Otherwise reset counter[i] and move up to level i + 1
+     */
+    public static void forEach(int n, StringVisitor visitor)
+    {
+        int[] permutation = new int[n];
+        for (int i = 0; i < n; i++)
+        {
+            permutation[i] = i;
+        }
+        int[] counter = new int[n];
+        visitor.visit(permutation);
+        int i = 1;
+        while (i < n)
+        {
+            if (counter[i] < i)
+            {
+                int j = (i & 1) == 0 ? 0 : counter[i];
+                int swap = permutation[j];
+                permutation[j] = permutation[i];
+                permutation[i] = swap;
+                visitor.visit(permutation);
+                counter[i]++;
+                i = 1;
+            }
+            else
+            {
+                counter[i] = 0;
+                i++;
+            }
+        }
+    }
+
+    /**
+     * Demonstrates all permutations of 3 elements and counts those of 10.
+     */
+    public static void main(String[] args)
+    {
+        forEach(3, permutation -> System.out.println(Arrays.toString(permutation)));
+
+        long[] count = new long[1];
+        forEach(10, permutation -> count[0]++);
+        System.out.println("Permutations of 10 elements: " + count[0]);
+    }
+}
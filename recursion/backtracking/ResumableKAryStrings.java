@@ -0,0 +1,318 @@
+package recursion.backtracking;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Enumerates k-ary strings (binary strings for k = 2) in the order of {@link KAryStrings},
+ * with a cursor that can be saved to a file and restored after a crash or restart.
+ *
+ * The cursor is the rank of the next string to visit; the digit array is rebuilt from
+ * it with {@link KAryStrings#unrank}. A checkpoint is written every checkpointInterval
+ * strings: the inner loop runs in batches between checkpoints and does no I/O and no
+ * flag checks per string. Checkpoints are
+ * written to a temporary file, forced to disk and then atomically moved over the old one,
+ * so a crash while writing never leaves a corrupt or empty checkpoint behind. Checkpoint
+ * writes are serialized, so {@link #checkpoint()} may be called while a run is writing its own.
+ *
+ * Another thread may call {@link #pause()} to stop the run at the next checkpoint, or before
+ * the first batch if the run has not started yet; {@link #run(StringVisitor)} can then be
+ * called again to continue.
+ *
+ * Checkpoint format (big-endian): int magic, int n, int k, long next rank.
+ */
+public class ResumableKAryStrings
+{
+    /** Identifies checkpoint files written by this class ("KARY") */
+    private static final int MAGIC = 0x4B415259;
+
+    /** Length of the strings */
+    private final int n;
+    /** Number of possible values for each position */
+    private final int k;
+    /** Total number of strings, k^n */
+    private final long total;
+    /** Where checkpoints are written, or null to disable checkpointing */
+    private final Path checkpointFile;
+    /** Number of strings between checkpoints */
+    private final long checkpointInterval;
+
+    /** Rank of the next string to visit, updated once per batch and readable from other threads */
+    private volatile long next;
+    /** Set by another thread to stop at the next checkpoint, cleared when the run stops for it */
+    private volatile boolean pauseRequested;
+    /** Serializes checkpoint writes, which share the temporary file */
+    private final Object checkpointLock = new Object();
+    /** Guards the throughput statistics below, which progress() reads from other threads */
+    private final Object statisticsLock = new Object();
+    /** true while run() is in progress */
+    private boolean running;
+    /** System.nanoTime() when the current run started */
+    private long runStart;
+    /** Cursor when the current run started */
+    private long runStartRank;
+    /** Time spent in finished runs, for the throughput report */
+    private long finishedNanos;
+    /** Strings visited by finished runs since this object was created */
+    private long finishedVisited;
+
+    /**
+     * Creates an enumerator that starts at the first string, or at the position stored in
+     * the checkpoint file if it exists.
+     *
+     * @param n The length of the strings
+     * @param k The number of possible values for each position
+     * @param checkpointFile The checkpoint location, or null to disable checkpointing
+     * @param checkpointInterval The number of strings between checkpoints (>= 1)
+     * @throws IOException if an existing checkpoint cannot be read or belongs to another space
+     */
+    public ResumableKAryStrings(int n, int k, Path checkpointFile, long checkpointInterval) throws IOException
+    {
+        if (checkpointInterval < 1)
+        {
+            throw new IllegalArgumentException("Checkpoint interval must be positive: " + checkpointInterval);
+        }
+        this.n = n;
+        this.k = k;
+        this.total = KAryStringSpliterator.spaceSize(n, k);
+        this.checkpointFile = checkpointFile;
+        this.checkpointInterval = checkpointInterval;
+        if (checkpointFile != null && Files.exists(checkpointFile))
+        {
+            restore();
+        }
+    }
+
+    /**
+     * Visits strings from the cursor until the space is exhausted or a pause is requested.
+     * A pause requested before the call stops the run before its first batch.
+     * A final checkpoint is written when the run stops.
+     *
+     * @param visitor Receives each string in a reused buffer
+     * @return true if the enumeration is complete, false if it was paused
+     * @throws IOException if a checkpoint cannot be written
+     */
+    public boolean run(StringVisitor visitor) throws IOException
+    {
+        synchronized (statisticsLock)
+        {
+            running = true;
+            runStart = System.nanoTime();
+            runStartRank = next;
+        }
+        int[] digits = new int[n];
+        if (next < total)
+        {
+            KAryStrings.unrank(next, k, digits);
+        }
+        try
+        {
+            while (next < total)
+            {
+                if (pauseRequested)
+                {
+                    pauseRequested = false;
+                    checkpoint();
+                    return false;
+                }
+                long batchEnd = Math.min(total, next + checkpointInterval);
+                for (long rank = next; rank < batchEnd; rank++)
+                {
+                    visitor.visit(digits);
+                    if (rank + 1 < total)
+                    {
+                        int i = 0;
+                        while (++digits[i] == k)
+                        {
+                            digits[i] = 0;
+                            i++;
+                        }
+                    }
+                }
+                next = batchEnd;
+                checkpoint();
+            }
+            return true;
+        }
+        finally
+        {
+            synchronized (statisticsLock)
+            {
+                finishedNanos += System.nanoTime() - runStart;
+                finishedVisited += next - runStartRank;
+                running = false;
+            }
+        }
+    }
+
+    /**
+     * Asks a running enumeration to stop at its next checkpoint. Safe to call from any thread.
+     */
+    public void pause()
+    {
+        pauseRequested = true;
+    }
+
+    /**
+     * Returns the rank of the next string to visit.
+     *
+     * @return The cursor
+     */
+    public long getNext()
+    {
+        return next;
+    }
+
+    /**
+     * Returns the number of strings in the space.
+     *
+     * @return k^n
+     */
+    public long getTotal()
+    {
+        return total;
+    }
+
+    /**
+     * Checks whether every string has been visited.
+     *
+     * @return true if the cursor reached the end
+     */
+    public boolean isComplete()
+    {
+        return next >= total;
+    }
+
+    /**
+     * Describes the progress and the throughput of the runs in this session. Safe to call from
+     * any thread; during a run the cursor advances once per batch, and the throughput counts the
+     * run so far together with the finished runs.
+     *
+     * @return A one-line progress report
+     */
+    public String progress()
+    {
+        long cursor;
+        long visited;
+        long nanos;
+        synchronized (statisticsLock)
+        {
+            cursor = next;
+            visited = finishedVisited;
+            nanos = finishedNanos;
+            if (running)
+            {
+                visited += cursor - runStartRank;
+                nanos += System.nanoTime() - runStart;
+            }
+        }
+        double percent = total == 0 ? 100 : 100.0 * cursor / total;
+        double perSecond = nanos == 0 ? 0 : visited * 1e9 / nanos;
+        return String.format("%d / %d strings (%.2f%%), %.1f million strings/s", cursor, total, percent,
+                perSecond / 1e6);
+    }
+
+    /**
+     * Writes the cursor to the checkpoint file atomically. Safe to call from any thread,
+     * also while a run is in progress.
+     *
+     * Logic:
+     * 1. Under the checkpoint lock, read the cursor, so a later checkpoint never stores an older one
+     * 2. Write the temporary file and force it to disk
+     * 3. Atomically move it over the checkpoint file
+     *
+     * @throws IOException if the file cannot be written
+     */
+    public void checkpoint() throws IOException
+    {
+        if (checkpointFile == null)
+        {
+            return;
+        }
+        synchronized (checkpointLock)
+        {
+            Path temporary = checkpointFile.resolveSibling(checkpointFile.getFileName() + ".tmp");
+            ByteBuffer record = ByteBuffer.allocate(3 * Integer.BYTES + Long.BYTES);
+            record.putInt(MAGIC).putInt(n).putInt(k).putLong(next).flip();
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING))
+            {
+                while (record.hasRemaining())
+                {
+                    channel.write(record);
+                }
+                channel.force(true);
+            }
+            Files.move(temporary, checkpointFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+    }
+
+    /**
+     * Reads the cursor from the checkpoint file.
+     */
+    private void restore() throws IOException
+    {
+        try (InputStream file = Files.newInputStream(checkpointFile); DataInputStream in = new DataInputStream(file))
+        {
+            if (in.readInt() != MAGIC)
+            {
+                throw new IOException("Not a checkpoint file: " + checkpointFile);
+            }
+            int savedN = in.readInt();
+            int savedK = in.readInt();
+            if (savedN != n || savedK != k)
+            {
+                throw new IOException("Checkpoint is for n=" + savedN + ", k=" + savedK + " but n=" + n + ", k=" + k
+                        + " was requested");
+            }
+            long savedNext = in.readLong();
+            if (savedNext < 0 || savedNext > total)
+            {
+                throw new IOException("Checkpoint cursor " + savedNext + " is out of range");
+            }
+            next = savedNext;
+        }
+    }
+
+    /**
+     * Simulates a crash: the first run is paused part-way, then a new instance
+     * resumes from the checkpoint file and finishes the enumeration.
+     */
+    public static void main(String[] args) throws IOException
+    {
+        Path checkpoint = Files.createTempFile("kary", ".checkpoint");
+        Files.delete(checkpoint);
+        try
+        {
+            long[] sum = new long[1];
+            ResumableKAryStrings first = new ResumableKAryStrings(20, 2, checkpoint, 1 << 16);
+            first.run(digits ->
+            {
+                sum[0] += digits[0];
+                if (sum[0] == 100_000)
+                {
+                    first.pause();
+                }
+            });
+            System.out.println("Paused: " + first.progress());
+
+            ResumableKAryStrings resumed = new ResumableKAryStrings(20, 2, checkpoint, 1 << 16);
+            System.out.println("Resuming at rank " + resumed.getNext());
+            int[] last = new int[20];
+            resumed.run(digits -> System.arraycopy(digits, 0, last, 0, digits.length));
+            System.out.println("Finished: " + resumed.progress() + ", last string " + Arrays.toString(last));
+        }
+        finally
+        {
+            Files.deleteIfExists(checkpoint);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package recursion.backtracking;
+
+/**
+ * Receives each string produced by an enumeration.
+ * The digits array is a scratch buffer owned by the enumerator and is overwritten
+ * with the next string as soon as visit returns, so implementations must copy it
+ * if they need to keep it.
+ */
+public interface StringVisitor
+{
+    /**
+     * Called once per generated string.
+     *
+     * @param digits The current string, position 0 first
+     */
+    void visit(int[] digits);
+}